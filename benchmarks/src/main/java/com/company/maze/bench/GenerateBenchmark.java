@@ -0,0 +1,43 @@
+package com.company.maze.bench;
+
+import com.company.maze.Maze;
+import com.company.maze.MazeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build and fully generate a size x size maze, from the smallest size in the game's menu up to four
+ * million cells. The seed is fixed, so every operation carves the same maze.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GenerateBenchmark {
+
+    @Param({"16", "38", "256", "1024", "2048"})
+    public int size;
+
+    @Param({"RECURSIVE_BACKTRACKER", "ELLER", "KRUSKAL", "PRIM", "WILSON", "BINARY_TREE"})
+    public MazeGenerator.Algorithm algorithm;
+
+    @Benchmark
+    public Maze generate(){
+        Maze maze = new Maze(size, 42L);
+        maze.setGenerator(algorithm.create());
+        maze.generate(false);
+        return maze;
+    }
+}
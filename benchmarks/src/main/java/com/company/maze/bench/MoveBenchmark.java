@@ -0,0 +1,70 @@
+package com.company.maze.bench;
+
+import com.company.maze.Cell;
+import com.company.maze.Maze;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-keypress queries: getAvailableNeighbors and the up/down/left/right moves. They run against a
+ * fixed sample of random cells spread over the whole maze, so large mazes also pay for cache misses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MoveBenchmark {
+    private static final int SAMPLES = 4096;
+
+    @Param({"16", "38", "256", "1024", "2048"})
+    public int size;
+
+    private Maze maze;
+    private Cell[] cells;
+    private int next;
+
+    @Setup
+    public void generate(){
+        maze = new Maze(size, 42L);
+        maze.generate(false);
+
+        SplittableRandom random = new SplittableRandom(7);
+        cells = new Cell[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++){
+            cells[i] = maze.getCell(random.nextInt(size), random.nextInt(size));
+        }
+    }
+
+    private Cell nextCell(){
+        return cells[next++ & (SAMPLES - 1)];
+    }
+
+    @Benchmark
+    public Cell[] availableNeighbors(){
+        return maze.getAvailableNeighbors(nextCell());
+    }
+
+    @Benchmark
+    public void moves(Blackhole blackhole){
+        Cell cell = nextCell();
+        blackhole.consume(maze.up(cell));
+        blackhole.consume(maze.down(cell));
+        blackhole.consume(maze.left(cell));
+        blackhole.consume(maze.right(cell));
+    }
+}
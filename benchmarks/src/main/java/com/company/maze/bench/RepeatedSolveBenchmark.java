@@ -0,0 +1,71 @@
+package com.company.maze.bench;
+
+import com.company.maze.AStarSolver;
+import com.company.maze.JunctionGraph;
+import com.company.maze.Maze;
+import com.company.maze.TreeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for one route query between a random cell and the end of the same maze, answered by an AStarSolver search,
+ * a JunctionGraph search or the maze's TreeIndex. The maze, solvers and index are built once, so unlike
+ * SolveBenchmark nothing outside the query itself is repeated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RepeatedSolveBenchmark {
+
+    @Param({"16", "38", "256", "1024"})
+    public int size;
+
+    private AStarSolver solver;
+    private JunctionGraph junctionGraph;
+    private TreeIndex treeIndex;
+    private SplittableRandom random;
+    private int cells;
+    private int end;
+
+    @Setup
+    public void generate(){
+        Maze maze = new Maze(size, 42L);
+        maze.generate(false);
+        solver = new AStarSolver(maze.getGrid());
+        junctionGraph = new JunctionGraph(maze.getGrid());
+        treeIndex = maze.getTreeIndex();
+        random = new SplittableRandom(7L);
+        cells = maze.getGrid().size();
+        end = maze.getEnd().getIndex();
+    }
+
+    @Benchmark
+    public int solve(){
+        return solver.solve(random.nextInt(cells), end);
+    }
+
+    @Benchmark
+    public int junctionGraph(){
+        return junctionGraph.solve(random.nextInt(cells), end);
+    }
+
+    @Benchmark
+    public int treeDistance(){
+        return treeIndex.distance(random.nextInt(cells), end);
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.maze.bench;
+
+import com.company.maze.AStarSolver;
+import com.company.maze.BidirectionalSolver;
+import com.company.maze.Maze;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for aStar(false) to solve a generated maze from start to end. A Maze only solves once, so every operation
+ * gets a freshly generated copy of the same maze; generating it is not timed. The per-invocation setup adds a
+ * little noise to the smallest sizes. The solver is made in the setup too, an AStarSolver or, for the bidirectional
+ * runs, a BidirectionalSolver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SolveBenchmark {
+
+    @Param({"16", "38", "256", "1024", "2048"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean bidirectional;
+
+    private Maze maze;
+
+    @Setup(Level.Invocation)
+    public void generate(){
+        maze = new Maze(size, 42L);
+        maze.generate(false);
+        maze.setSolver(bidirectional ? new BidirectionalSolver(maze.getGrid()) : new AStarSolver(maze.getGrid()));
+    }
+
+    @Benchmark
+    public boolean aStar(){
+        return maze.aStar(false);
+    }
+}
@@ -0,0 +1,173 @@
+package com.company;
+
+/**
+ * A pan/zoom view onto the maze. World coordinates are the maze's own pixels at zoom 1, and the camera maps them
+ * onto a view the size of the window. When the world is smaller than the view it is centered; otherwise the
+ * camera stays inside the world.
+ */
+public class Camera {
+    private static final float MAX_ZOOM = 4;
+    //How far from the center of the view, as a fraction of the view, a followed point may wander before the
+    //camera moves. Keeps the camera still, and the cached maze layer valid, for most moves
+    private static final float DEAD_ZONE = 0.25f;
+
+    private final int viewWidth;
+    private final int viewHeight;
+    private final float worldWidth;
+    private final float worldHeight;
+    private float x;
+    private float y;
+    private float zoom;
+    private float minZoom;
+    private int version;
+
+    /**
+     * Constructor for Camera objects. Starts at zoom 1 over the center of the world
+     * @param viewWidth Width of the view in screen pixels
+     * @param viewHeight Height of the view in screen pixels
+     * @param worldWidth Width of the world at zoom 1
+     * @param worldHeight Height of the world at zoom 1
+     */
+    public Camera(int viewWidth, int viewHeight, float worldWidth, float worldHeight){
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        x = worldWidth / 2;
+        y = worldHeight / 2;
+        zoom = 1;
+        clamp();
+    }
+
+    /**
+     * Moves the camera just enough to keep a point inside the dead zone in the middle of the view
+     * @param targetX The x coordinate of the point in the world
+     * @param targetY The y coordinate of the point in the world
+     */
+    public void follow(float targetX, float targetY){
+        float reachX = viewWidth * DEAD_ZONE / zoom;
+        float reachY = viewHeight * DEAD_ZONE / zoom;
+        float newX = Math.max(targetX - reachX, Math.min(targetX + reachX, x));
+        float newY = Math.max(targetY - reachY, Math.min(targetY + reachY, y));
+        moveTo(newX, newY);
+    }
+
+    /**
+     * Centers the camera on a point
+     * @param worldX The x coordinate of the point in the world
+     * @param worldY The y coordinate of the point in the world
+     */
+    public void moveTo(float worldX, float worldY){
+        float oldX = x;
+        float oldY = y;
+        x = worldX;
+        y = worldY;
+        clamp();
+        if(x != oldX || y != oldY){
+            version++;
+        }
+    }
+
+    /**
+     * Moves the camera by a number of screen pixels
+     * @param dx How far to pan across, in screen pixels
+     * @param dy How far to pan down, in screen pixels
+     */
+    public void pan(float dx, float dy){
+        moveTo(x + dx / zoom, y + dy / zoom);
+    }
+
+    /**
+     * Zooms in or out around the center of the view. Can zoom out until the whole world fits in the view
+     * @param factor How much to multiply the zoom by
+     */
+    public void zoom(float factor){
+        float oldZoom = zoom;
+        zoom = Math.max(getMinZoom(), Math.min(MAX_ZOOM, zoom * factor));
+        if(zoom != oldZoom){
+            version++;
+            clamp();
+        }
+    }
+
+    /**
+     * Finds the lowest zoom, at which the whole world fits in the view, or the zoom set by setMinZoom if that is higher
+     * @return The lowest zoom
+     */
+    public float getMinZoom(){
+        return Math.max(minZoom, Math.min(1, Math.min(viewWidth / worldWidth, viewHeight / worldHeight)));
+    }
+
+    /**
+     * Stops the camera zooming out past a zoom, for worlds too big to ever be drawn whole
+     * @param minZoom The lowest zoom allowed. 0 by default
+     */
+    public void setMinZoom(float minZoom){
+        this.minZoom = minZoom;
+        if(zoom < getMinZoom()){
+            zoom(1);
+        }
+    }
+
+    /**
+     * Converts an x coordinate in the world to one on the screen
+     * @param worldX The x coordinate in the world
+     * @return The x coordinate on the screen
+     */
+    public float screenX(float worldX){
+        return (worldX - x) * zoom + viewWidth / 2f;
+    }
+
+    /**
+     * Converts a y coordinate in the world to one on the screen
+     * @param worldY The y coordinate in the world
+     * @return The y coordinate on the screen
+     */
+    public float screenY(float worldY){
+        return (worldY - y) * zoom + viewHeight / 2f;
+    }
+
+    /**
+     * Converts an x coordinate on the screen to one in the world
+     * @param screenX The x coordinate on the screen
+     * @return The x coordinate in the world
+     */
+    public float worldX(float screenX){
+        return (screenX - viewWidth / 2f) / zoom + x;
+    }
+
+    /**
+     * Converts a y coordinate on the screen to one in the world
+     * @param screenY The y coordinate on the screen
+     * @return The y coordinate in the world
+     */
+    public float worldY(float screenY){
+        return (screenY - viewHeight / 2f) / zoom + y;
+    }
+
+    /**
+     * Getter for the zoom variable
+     * @return How many screen pixels one world pixel covers
+     */
+    public float getZoom(){
+        return zoom;
+    }
+
+    /**
+     * Getter for the version variable
+     * @return A number that changes every time the camera moves or zooms
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * Keeps the view inside the world, or centers the world along any axis where it is smaller than the view
+     */
+    private void clamp(){
+        float halfWidth = viewWidth / 2f / zoom;
+        float halfHeight = viewHeight / 2f / zoom;
+        x = worldWidth <= 2 * halfWidth ? worldWidth / 2 : Math.max(halfWidth, Math.min(worldWidth - halfWidth, x));
+        y = worldHeight <= 2 * halfHeight ? worldHeight / 2 : Math.max(halfHeight, Math.min(worldHeight - halfHeight, y));
+    }
+}
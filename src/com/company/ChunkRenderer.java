@@ -0,0 +1,228 @@
+package com.company;
+
+import com.company.maze.Cell;
+import com.company.maze.ChunkedMaze;
+import com.company.maze.PackedGrid;
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+import java.util.Arrays;
+
+/**
+ * Draws the part of a ChunkedMaze seen by a Camera into an offscreen layer the size of the window, like
+ * MazeRenderer does for a Maze. The layer is drawn again whenever the camera moves, a chunk arrives or a flag
+ * changes. Chunks that are not ready yet are drawn grey.
+ *
+ * The camera's world is a window onto the endless maze, WORLD_CELLS across, and the cell at its corner is the
+ * origin. Whenever the followed cell nears the edge of that window the origin jumps to put it back in the middle,
+ * so world coordinates stay small enough for floats to place cells exactly however far the maze is explored.
+ */
+public class ChunkRenderer {
+    private static final int WORLD_CELLS = 1 << 16;
+    //The furthest the camera can zoom out, which caps how many cells are ever drawn at once
+    private static final float MIN_ZOOM = 0.5f;
+
+    private PApplet applet;
+    private ChunkedMaze maze;
+    private Camera camera;
+    private PGraphics layer;
+    private int drawnCameraVersion;
+    private int drawnMazeVersion;
+    private float[] walls;
+    private int wallCount;
+    private int cellWidth;
+    private int cellHeight;
+    private int originRow;
+    private int originColumn;
+
+    /**
+     * Constructor for ChunkRenderer objects. The camera starts at zoom 1 over a cell
+     * @param applet The PApplet being used
+     * @param maze The maze to draw
+     * @param dimensions How large each cell in the maze should be at zoom 1
+     * @param row The row of the cell to start over
+     * @param column The column of the cell to start over
+     */
+    public ChunkRenderer(PApplet applet, ChunkedMaze maze, int dimensions, int row, int column){
+        this.applet = applet;
+        this.maze = maze;
+        cellWidth = dimensions;
+        cellHeight = dimensions;
+        originRow = row - WORLD_CELLS / 2;
+        originColumn = column - WORLD_CELLS / 2;
+
+        camera = new Camera(applet.width, applet.height, (float) WORLD_CELLS * cellWidth,
+                (float) WORLD_CELLS * cellHeight);
+        camera.setMinZoom(MIN_ZOOM);
+    }
+
+    /**
+     * Method to display the maze. Needs to be called every frame
+     */
+    public void display(){
+        if(layer == null){
+            layer = applet.createGraphics(applet.width, applet.height);
+            redrawAll();
+        }else if(camera.getVersion() != drawnCameraVersion || maze.getVersion() != drawnMazeVersion){
+            redrawAll();
+        }
+        applet.image(layer, 0, 0);
+    }
+
+    /**
+     * Moves the camera to keep a cell in view, moving the origin first if the cell is near the edge of the world
+     * @param row The row of the cell to follow
+     * @param column The column of the cell to follow
+     */
+    public void follow(int row, int column){
+        int shiftRow = recenter(row - originRow);
+        int shiftColumn = recenter(column - originColumn);
+        if(shiftRow != 0 || shiftColumn != 0){
+            //Keep the view over the same cells while the world moves under it
+            float centerX = camera.worldX(applet.width / 2f) - (float) shiftRow * cellWidth;
+            float centerY = camera.worldY(applet.height / 2f) - (float) shiftColumn * cellHeight;
+            originRow += shiftRow;
+            originColumn += shiftColumn;
+            camera.moveTo(centerX, centerY);
+        }
+        camera.follow((row - originRow + 0.5f) * cellWidth, (column - originColumn + 0.5f) * cellHeight);
+    }
+
+    /**
+     * Works out how far the origin has to move for a cell to be back in the middle of the world
+     * @param local The cell's position along one axis, counted from the origin
+     * @return How many cells to move the origin along that axis, 0 if the cell is not near the edge
+     */
+    private int recenter(int local){
+        return local < WORLD_CELLS / 4 || local > WORLD_CELLS * 3 / 4 ? local - WORLD_CELLS / 2 : 0;
+    }
+
+    /**
+     * Draws every visible cell onto a cleared layer, a chunk at a time
+     */
+    private void redrawAll(){
+        drawnCameraVersion = camera.getVersion();
+        drawnMazeVersion = maze.getVersion();
+
+        int rowStart = originRow + (int) Math.floor(camera.worldX(0) / cellWidth);
+        int rowEnd = originRow + (int) Math.floor(camera.worldX(applet.width) / cellWidth);
+        int columnStart = originColumn + (int) Math.floor(camera.worldY(0) / cellHeight);
+        int columnEnd = originColumn + (int) Math.floor(camera.worldY(applet.height) / cellHeight);
+
+        layer.beginDraw();
+        layer.background(255);
+        layer.noStroke();
+        if(walls == null){
+            walls = new float[64];
+        }
+        wallCount = 0;
+        int size = ChunkedMaze.CHUNK_SIZE;
+        for (int chunkRow = Math.floorDiv(rowStart, size); chunkRow <= Math.floorDiv(rowEnd, size); chunkRow++){
+            for (int chunkColumn = Math.floorDiv(columnStart, size); chunkColumn <= Math.floorDiv(columnEnd, size);
+                 chunkColumn++){
+                int firstRow = Math.max(rowStart, chunkRow * size);
+                int lastRow = Math.min(rowEnd, chunkRow * size + size - 1);
+                int firstColumn = Math.max(columnStart, chunkColumn * size);
+                int lastColumn = Math.min(columnEnd, chunkColumn * size + size - 1);
+                PackedGrid chunk = maze.getChunk(chunkRow, chunkColumn);
+                if(chunk == null){
+                    layer.fill(200);
+                    layer.rect(getX(firstRow), getY(firstColumn), (lastRow - firstRow + 1) * getCellWidth(),
+                            (lastColumn - firstColumn + 1) * getCellHeight());
+                    continue;
+                }
+                for (int r = firstRow; r <= lastRow; r++){
+                    for (int c = firstColumn; c <= lastColumn; c++){
+                        drawCell(chunk, chunk.index(r - chunkRow * size, c - chunkColumn * size), r, c);
+                    }
+                }
+            }
+        }
+
+        layer.stroke(0);
+        layer.beginShape(PApplet.LINES);
+        for (int i = 0; i < wallCount; i += 2){
+            layer.vertex(walls[i], walls[i + 1]);
+        }
+        layer.endShape();
+        layer.endDraw();
+    }
+
+    /**
+     * Fills a cell by its flags and adds its walls to the wall geometry. Only the RIGHT and TOP walls are added,
+     * as every other wall is the RIGHT or TOP wall of a neighbor, so each wall is drawn once
+     * @param chunk The chunk the cell is in
+     * @param index The index of the cell in its chunk
+     * @param row The row of the cell
+     * @param column The column of the cell
+     */
+    private void drawCell(PackedGrid chunk, int index, int row, int column){
+        float x = getX(row);
+        float y = getY(column);
+        if(chunk.isSet(index, PackedGrid.PATH)){
+            layer.fill(0, 255, 0);
+            layer.rect(x, y, getCellWidth(), getCellHeight());
+        }
+        if(chunk.hasWall(index, Cell.Side.RIGHT)){
+            addWall(x, y, x, y + getCellHeight());
+        }
+        if(chunk.hasWall(index, Cell.Side.TOP)){
+            addWall(x, y, x + getCellWidth(), y);
+        }
+    }
+
+    /**
+     * Adds a line to the wall geometry being built
+     */
+    private void addWall(float x1, float y1, float x2, float y2){
+        if(wallCount + 4 > walls.length){
+            walls = Arrays.copyOf(walls, walls.length * 2);
+        }
+        walls[wallCount++] = x1;
+        walls[wallCount++] = y1;
+        walls[wallCount++] = x2;
+        walls[wallCount++] = y2;
+    }
+
+    /**
+     * Finds the x coordinate of a cell on the PApplet
+     * @param row The row of the cell
+     * @return The x coordinate of the cell's top left corner
+     */
+    public float getX(int row){
+        return camera.screenX((float) (row - originRow) * cellWidth);
+    }
+
+    /**
+     * Finds the y coordinate of a cell on the PApplet
+     * @param column The column of the cell
+     * @return The y coordinate of the cell's top left corner
+     */
+    public float getY(int column){
+        return camera.screenY((float) (column - originColumn) * cellHeight);
+    }
+
+    /**
+     * Getter for the on-screen width of a cell
+     * @return How wide a cell is drawn at the camera's zoom
+     */
+    public float getCellWidth(){
+        return cellWidth * camera.getZoom();
+    }
+
+    /**
+     * Getter for the on-screen height of a cell
+     * @return How tall a cell is drawn at the camera's zoom
+     */
+    public float getCellHeight(){
+        return cellHeight * camera.getZoom();
+    }
+
+    /**
+     * Getter for the camera variable
+     * @return The Camera choosing which part of the maze is drawn
+     */
+    public Camera getCamera(){
+        return camera;
+    }
+}
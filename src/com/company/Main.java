@@ -1,31 +1,77 @@
 package com.company;
 
+import com.company.maze.BidirectionalSolver;
+import com.company.maze.Cell;
+import com.company.maze.ChunkedMaze;
+import com.company.maze.JunctionGraph;
+import com.company.maze.Maze;
+import com.company.maze.MazeFile;
+import com.company.maze.MazeMetrics;
+import com.company.maze.MazeTask;
+import com.company.maze.PackedGrid;
 import processing.core.PApplet;
+import processing.event.KeyEvent;
 import g4p_controls.*;
 
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntPredicate;
 
 public class Main extends PApplet{
 
     //TODO remember to add credits
 
     private Maze maze;
+    private MazeRenderer renderer;
     private int size;
     private long startTime, time;
     private final boolean VISUALIZE_MAZE = false;
     private final boolean VISUALIZE_A_STAR = false;
+    private final boolean ERASE_BACKTRACKS = true;
+    private final boolean CONTRACT_CORRIDORS = !VISUALIZE_A_STAR;
+    private final boolean BIDIRECTIONAL_A_STAR = true;
+    //Visualized generation and solving aim to finish in about this many seconds, as frame time allows
+    private final float ANIMATION_SECONDS = 10;
+    private final float TARGET_FRAME_RATE = 60;
+    //The most time each frame may spend stepping visualized work, in nanoseconds
+    private final long STEP_BUDGET = 8_000_000L;
+    //Pre-generated mazes saved by MazeFile are opened from here as <size>.maze instead of being generated
+    private final String MAZE_LIBRARY = "mazes";
+    //Endless mode keeps at most this many chunks, and asks for every chunk this many chunks around the player
+    private final int ENDLESS_CHUNKS = 256;
+    private final int PREFETCH_RADIUS = 4;
+    private int stepsPerFrame;
     private boolean show;
+    private boolean showHint;
     private DateFormat format;
     private Player player;
+    //Generates and solves mazes off the animation thread when they are not being visualized
+    private ExecutorService worker;
+    private MazeTask task;
+    //Endless mode
+    private ChunkedMaze endless;
+    private ChunkRenderer endlessRenderer;
+    private int endlessRow, endlessColumn, farthest;
+    //Frame times, input latency and what generating and solving cost, also sent to Flight Recorder when it is there
+    private MazeMetrics metrics;
+    private MetricsOverlay metricsOverlay;
+    private boolean showMetrics;
+    //When the oldest key press not yet drawn happened, in System.nanoTime terms, or 0 if there is none
+    private long inputTime;
 
     //GUI elements
-    private GButton startButton, resignButton, playAgainButton;
+    private GButton startButton, resignButton, playAgainButton, cancelButton, endlessButton;
     private GDropList sizeList;
     private enum ProgramStates {
-        START, SETUP, MAZE_GENERATING, MAZE_DONE, PLAYER_ACTIVE, A_STAR_RUNNING, A_STAR_DONE
+        START, SETUP, MAZE_GENERATING, MAZE_DONE, PLAYER_ACTIVE, A_STAR_RUNNING, A_STAR_DONE, ENDLESS
     }
     private ProgramStates state;
 
@@ -49,13 +95,23 @@ public class Main extends PApplet{
      */
     @Override
     public void setup(){
-        //frameRate(10);
+        frameRate(TARGET_FRAME_RATE);
         state = ProgramStates.START;
 
         format = new SimpleDateFormat("mm:ss:SSS");
 
         show = true;
 
+        metrics = MazeMetrics.get();
+        metrics.enableFlightRecorder();
+        metricsOverlay = new MetricsOverlay(this, metrics);
+
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "maze-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
         //GUI elements
         startButton = new GButton(this, width/2 - 100, height/2 - 50, 200, 100);
         startButton.setEnabled(true);
@@ -63,6 +119,10 @@ public class Main extends PApplet{
         startButton.setText("START");
         startButton.setLocalColorScheme(G4P.GREEN_SCHEME);
 
+        endlessButton = new GButton(this, width/2 - 100, height/2 - 160, 200, 50, "ENDLESS");
+        endlessButton.setFont(new Font("Dialog", Font.PLAIN, 24));
+        endlessButton.setLocalColorScheme(G4P.BLUE_SCHEME);
+
         resignButton = new GButton(this, 50, height/2, 100, 50);
         resignButton.setFont(new Font("Dialog", Font.PLAIN, 16));
         resignButton.setText("RESIGN");
@@ -76,8 +136,14 @@ public class Main extends PApplet{
         playAgainButton.setVisible(false);
         playAgainButton.setEnabled(false);
 
-        sizeList = new GDropList(this, width/2 + 10, height/2 + 85, 50, 200);
-        sizeList.setItems(new String[]{"16", "24", "32", "38"}, 0);
+        cancelButton = new GButton(this, width/2 - 75, height/2 + 50, 150, 50, "CANCEL");
+        cancelButton.setFont(new Font("Dialog", Font.PLAIN, 24));
+        cancelButton.setLocalColorScheme(G4P.RED_SCHEME);
+        cancelButton.setVisible(false);
+        cancelButton.setEnabled(false);
+
+        sizeList = new GDropList(this, width/2 + 10, height/2 + 85, 100, 200);
+        sizeList.setItems(new String[]{"16", "24", "32", "38", "100", "1000", "5000"}, 0);
         sizeList.setFont(new Font("Dialog", Font.PLAIN, 32));
         sizeList.setLocalColorScheme(G4P.GREEN_SCHEME);
 
@@ -89,12 +155,22 @@ public class Main extends PApplet{
      */
     @Override
     public void draw(){
+        long frameStart = System.nanoTime();
+        //States change during the frame; the frame is counted against the state it started in
+        ProgramStates frameState = state;
+
         //Resets the frame
         background(255);
 
-        //Don't display the maze before it has been generated
-        if(state != ProgramStates.START && state != ProgramStates.SETUP){
-            maze.display();
+        //Don't display the maze before it has been generated, or while the worker is carving it. While the worker
+        //is solving it, the maze as it was before the solve stays up, as its changes can't be read until it is done.
+        //Building the distance field only reads the maze, so it can be drawn as usual then
+        if(state != ProgramStates.START && state != ProgramStates.SETUP && state != ProgramStates.ENDLESS){
+            if(task == null || state == ProgramStates.MAZE_DONE){
+                renderer.display();
+            }else if(state == ProgramStates.A_STAR_RUNNING){
+                renderer.displayCached();
+            }
         }
 
         //Control flow for the program
@@ -103,6 +179,8 @@ public class Main extends PApplet{
             case START: //First thing the user sees. From here they can select size of the maze they wish to play through
                 startButton.setEnabled(true);
                 startButton.setVisible(true);
+                endlessButton.setEnabled(true);
+                endlessButton.setVisible(true);
                 sizeList.setEnabled(true);
                 sizeList.setVisible(true);
 
@@ -116,33 +194,72 @@ public class Main extends PApplet{
                 break;
 
             case SETUP: //Sets up the maze
-                maze = new Maze(this, size, 20);
-                maze.setStart(maze.getCell(0,2));
+                maze = loadMaze();
+                boolean loaded = maze != null;
+                if(!loaded){
+                    maze = new Maze(size);
+                    maze.setStart(maze.getCell(0,2));
+                }
+                renderer = new MazeRenderer(this, maze, 20);
 
-                player = new Player(this, maze.getStart());
-                state = ProgramStates.MAZE_GENERATING;
+                player = new Player(renderer, maze.getStart());
+                player.setEraseBacktracks(ERASE_BACKTRACKS);
+                stepsPerFrame = 1;
+                renderer.follow(maze.getStart());
+                state = loaded ? ProgramStates.MAZE_DONE : ProgramStates.MAZE_GENERATING;
                 break;
 
             case MAZE_GENERATING: //Generates the maze
                 if(VISUALIZE_MAZE){
-                    if(maze.generate(VISUALIZE_MAZE)){
+                    if(stepVisualized(maze::generate)){
                         state = ProgramStates.MAZE_DONE;
+                        stepsPerFrame = 1;
+                    }else{
+                        drawProgress("GENERATING", maze.getGenerationProgress());
                     }
                 }else{
-                    maze.generate(VISUALIZE_MAZE);
-                    state = ProgramStates.MAZE_DONE;
+                    if(task == null){
+                        task = MazeTask.generate(maze, worker);
+                        showCancel(true);
+                    }
+                    if(pollTask("GENERATING")){
+                        state = ProgramStates.MAZE_DONE;
+                    }
                 }
                 break;
 
             case MAZE_DONE: //Intermediary step between the maze being generated and the player given controls
+                //Hints, distances and resigning read the distance field, so it is built before play starts. A
+                //background generation builds it as its last step; otherwise it is built on the worker here, as
+                //searching a big loaded maze would freeze the sketch
+                if(!maze.hasDistanceField()){
+                    if(task == null){
+                        task = MazeTask.prepare(maze, worker);
+                        showCancel(true);
+                    }
+                    if(!pollTask("PREPARING")){
+                        break;
+                    }
+                }
+                showHint = false;
                 startTime = System.currentTimeMillis();
                 state = ProgramStates.PLAYER_ACTIVE;
 
                 break;
 
             case PLAYER_ACTIVE: //Here the player can control their character, trying to reach the end
+                if(showHint){
+                    Cell hint = maze.getHint(player.getCell());
+                    if(hint != null){
+                        noStroke();
+                        fill(255, 150, 0);
+                        rect(renderer.getX(hint) + renderer.getCellWidth()/4, renderer.getY(hint) + renderer.getCellHeight()/4,
+                                renderer.getCellWidth()/2, renderer.getCellHeight()/2);
+                        fill(0);
+                    }
+                }
                 player.display();
-                if(player.getCell() == maze.getEnd()){
+                if(player.getCell().equals(maze.getEnd())){
                     //maze.resetGrid();
                     state = ProgramStates.A_STAR_RUNNING;
                 }
@@ -151,11 +268,14 @@ public class Main extends PApplet{
                 text("Press to show solution", 10, height/2 - 25);
                 text("Use the arrow keys to", 10, height/2 - 100);
                 text("move around the maze", 10, height/2 - 80);
+                text("+/- to zoom", 10, height/2 - 60);
+                text("H for a hint, M for metrics", 10, height/2 - 40);
 
                 textSize(20);
                 textAlign(RIGHT, TOP);
                 time = System.currentTimeMillis() - startTime;
                 text("Time : " + format.format(time), width-10, 0);
+                text("Moves left : " + maze.getDistanceToEnd(player.getCell()), width-10, 25);
                 resignButton.setEnabled(true);
                 resignButton.setVisible(true);
                 break;
@@ -163,9 +283,24 @@ public class Main extends PApplet{
             case A_STAR_RUNNING: //State where the A* algorithm solves the maze
                 resignButton.setVisible(false);
                 resignButton.setEnabled(false);
-                boolean done = maze.aStar(VISUALIZE_A_STAR);
-                if (done){
-                    state = ProgramStates.A_STAR_DONE;
+                if(VISUALIZE_A_STAR){
+                    if(BIDIRECTIONAL_A_STAR && !(maze.getSolver() instanceof BidirectionalSolver)){
+                        maze.setSolver(new BidirectionalSolver(maze.getGrid()));
+                    }
+                    if(stepVisualized(maze::aStar)){
+                        state = ProgramStates.A_STAR_DONE;
+                    }else{
+                        drawProgress("SOLVING", maze.getSolveProgress());
+                    }
+                }else{
+                    if(task == null){
+                        //Solving at the end expands only junctions and dead ends instead of every cell
+                        task = MazeTask.solve(maze, CONTRACT_CORRIDORS ? JunctionGraph::new : null, worker);
+                        showCancel(true);
+                    }
+                    if(pollTask("SOLVING")){
+                        state = ProgramStates.A_STAR_DONE;
+                    }
                 }
                 break;
             case A_STAR_DONE: //Displays the solved maze according to A* Offers the player the option to play again
@@ -182,13 +317,198 @@ public class Main extends PApplet{
                 }
                 playAgainButton.setEnabled(true);
                 playAgainButton.setVisible(true);
+                break;
+
+            case ENDLESS: //The player explores a maze that is generated around them as they go, until they resign
+                //Only queues the chunks near the player and picks up finished ones; the worker generates them
+                endless.prefetch(endlessRow, endlessColumn, PREFETCH_RADIUS);
+                endless.set(endlessRow, endlessColumn, PackedGrid.PATH, true);
+                endlessRenderer.display();
+
+                stroke(0);
+                fill(0);
+                ellipseMode(CENTER);
+                float diameter = Math.max(1, Math.min(10, endlessRenderer.getCellWidth()/2));
+                ellipse(endlessRenderer.getX(endlessRow) + endlessRenderer.getCellWidth()/2,
+                        endlessRenderer.getY(endlessColumn) + endlessRenderer.getCellHeight()/2, diameter, diameter);
+
+                textAlign(LEFT, CENTER);
+                textSize(16);
+                text("Use the arrow keys to", 10, height/2 - 100);
+                text("explore the endless maze", 10, height/2 - 80);
+                text("+/- to zoom", 10, height/2 - 60);
+
+                textSize(20);
+                textAlign(RIGHT, TOP);
+                time = System.currentTimeMillis() - startTime;
+                text("Time : " + format.format(time), width-10, 0);
+                text("Farthest : " + farthest, width-10, 25);
+                text("Chunks : " + endless.getChunkCount(), width-10, 50);
+                resignButton.setEnabled(true);
+                resignButton.setVisible(true);
+                break;
+        }
+
+        if(showMetrics){
+            metricsOverlay.display(frameState.name());
+        }
+        long frameEnd = System.nanoTime();
+        metrics.recordFrame(frameState.name(), frameEnd - frameStart);
+        if(inputTime != 0){
+            metrics.recordInput(frameEnd - inputTime);
+            inputTime = 0;
+        }
+    }
+
+    /**
+     * Moves the player through the endless maze, if the way is open and the chunk beyond is ready
+     * @param side The side of the player's cell to move through
+     */
+    private void moveEndless(Cell.Side side){
+        if(!endless.canMove(endlessRow, endlessColumn, side)){
+            return;
+        }
+        switch (side){
+            case TOP:
+                endlessColumn--;
+                break;
+            case BOTTOM:
+                endlessColumn++;
+                break;
+            case RIGHT:
+                endlessRow--;
+                break;
+            case LEFT:
+                endlessRow++;
+                break;
+        }
+        int start = ChunkedMaze.CHUNK_SIZE / 2;
+        farthest = Math.max(farthest, Math.abs(endlessRow - start) + Math.abs(endlessColumn - start));
+        endless.set(endlessRow, endlessColumn, PackedGrid.PATH, true);
+        endlessRenderer.follow(endlessRow, endlessColumn);
+    }
+
+    /**
+     * Opens the pre-generated maze for the chosen size from the maze library, if there is one
+     * @return The loaded Maze, or null if there is none or it could not be read
+     */
+    private Maze loadMaze(){
+        Path path = Paths.get(MAZE_LIBRARY, size + ".maze");
+        if(!Files.isRegularFile(path)){
+            return null;
+        }
+        try {
+            Maze loaded = MazeFile.load(path);
+            if(loaded.getRows() == size && loaded.getColumns() == size){
+                return loaded;
+            }
+            System.err.println(path + " does not hold a maze of size " + size);
+        }catch (IOException e){
+            System.err.println("Could not load " + path + " : " + e.getMessage());
         }
+        return null;
+    }
+
+    /**
+     * Checks on the background task, drawing its progress while it runs. Goes back to the start screen if it failed
+     * @param label What the task is doing
+     * @return true if the task has finished and the maze can be used again, false otherwise
+     */
+    private boolean pollTask(String label){
+        if(!task.isDone()){
+            textAlign(CENTER, CENTER);
+            textSize(32);
+            fill(0);
+            //The maze is hidden or out of date while the worker owns it, so say what is happening
+            text(label + "...", width/2, height/2 - 50);
+            drawProgress(label, task.getProgress());
+            return false;
+        }
+        Throwable failure = task.getFailure();
+        task = null;
+        showCancel(false);
+        if(failure != null){
+            failure.printStackTrace();
+            state = ProgramStates.START;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs as many steps of a visualized generation or solve as this frame can afford. Steps run in small batches
+     * and stop early once the frame's time budget is spent. The number of steps per frame grows towards finishing in
+     * ANIMATION_SECONDS, and halves whenever the frame rate drops below the target
+     * @param step Runs up to the given number of steps, returning true once the work is finished
+     * @return true once the work is finished, false otherwise
+     */
+    private boolean stepVisualized(IntPredicate step){
+        int target = Math.max(1, (int) (maze.getGrid().size() / (ANIMATION_SECONDS * TARGET_FRAME_RATE)));
+        if(frameRate < TARGET_FRAME_RATE * 0.9f){
+            stepsPerFrame = Math.max(1, stepsPerFrame / 2);
+        }else{
+            stepsPerFrame = Math.min(target, stepsPerFrame + Math.max(1, stepsPerFrame / 4));
+        }
+
+        long deadline = System.nanoTime() + STEP_BUDGET;
+        int remaining = stepsPerFrame;
+        while(remaining > 0){
+            int batch = Math.min(remaining, 256);
+            if(step.test(batch)){
+                return true;
+            }
+            remaining -= batch;
+            if(System.nanoTime() - deadline >= 0){
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draws a progress bar along the bottom of the window
+     * @param label What is in progress
+     * @param progress How far it has got, from 0 to 1
+     */
+    private void drawProgress(String label, double progress){
+        noStroke();
+        fill(0, 255, 0);
+        rect(0, height - 6, (float) (width * progress), 6);
+        fill(0);
+        textAlign(LEFT, BOTTOM);
+        textSize(16);
+        text(label + " : " + (int) (progress * 100) + "%", 10, height - 8);
+    }
+
+    /**
+     * Shows or hides the button that cancels the background task
+     * @param visible Whether the button should be shown
+     */
+    private void showCancel(boolean visible){
+        cancelButton.setVisible(visible);
+        cancelButton.setEnabled(visible);
+    }
+
+    /**
+     * Event listener. Notes when a key was pressed, for the input latency metric, then handles it as keyPressed()
+     * @param event The key event
+     */
+    @Override
+    public void keyPressed(KeyEvent event){
+        if(inputTime == 0){
+            //Key events are stamped when they happen, so time spent waiting to be handled counts too
+            inputTime = System.nanoTime() - (System.currentTimeMillis() - event.getMillis()) * 1000000L;
+        }
+        super.keyPressed(event);
     }
 
     /**
      * Event listener. Listens for a key to be pressed then runs. Must be included in a class with a draw method
      */
     public void keyPressed(){
+        if(key == 'm'){
+            showMetrics = !showMetrics;
+        }
         if(state == ProgramStates.PLAYER_ACTIVE) {
             if (keyCode == UP || key == 'w') {
                 player.update(maze.up(player.getCell()));
@@ -202,6 +522,42 @@ public class Main extends PApplet{
             if (keyCode == LEFT || key == 'd') {
                 player.update(maze.left(player.getCell()));
             }
+            if (key == 'h') {
+                showHint = !showHint;
+            }
+        }
+        if(state == ProgramStates.ENDLESS){
+            if (keyCode == UP || key == 'w') {
+                moveEndless(Cell.Side.TOP);
+            }
+            if (keyCode == DOWN || key == 's') {
+                moveEndless(Cell.Side.BOTTOM);
+            }
+            if (keyCode == RIGHT || key == 'a') {
+                moveEndless(Cell.Side.LEFT);
+            }
+            if (keyCode == LEFT || key == 'd') {
+                moveEndless(Cell.Side.RIGHT);
+            }
+            if(key == '=' || key == '+'){
+                endlessRenderer.getCamera().zoom(1.25f);
+            }
+            if(key == '-'){
+                endlessRenderer.getCamera().zoom(0.8f);
+            }
+            endlessRenderer.follow(endlessRow, endlessColumn);
+            return;
+        }
+        if(renderer != null && state != ProgramStates.START && state != ProgramStates.SETUP){
+            if(key == '=' || key == '+'){
+                renderer.getCamera().zoom(1.25f);
+            }
+            if(key == '-'){
+                renderer.getCamera().zoom(0.8f);
+            }
+            if(player != null){
+                renderer.follow(player.getCell());
+            }
         }
     }
 
@@ -214,14 +570,48 @@ public class Main extends PApplet{
         if(button == startButton) {
             startButton.setEnabled(false);
             startButton.setVisible(false);
+            endlessButton.setEnabled(false);
+            endlessButton.setVisible(false);
             sizeList.setEnabled(false);
             sizeList.setVisible(false);
             background(255);
             state = ProgramStates.SETUP;
         }
-        if(button == resignButton){
-            //maze.resetGrid();
-            state = ProgramStates.A_STAR_RUNNING;
+        if(button == endlessButton) {
+            startButton.setEnabled(false);
+            startButton.setVisible(false);
+            endlessButton.setEnabled(false);
+            endlessButton.setVisible(false);
+            sizeList.setEnabled(false);
+            sizeList.setVisible(false);
+            endless = new ChunkedMaze(System.nanoTime(), ENDLESS_CHUNKS, worker);
+            endlessRow = ChunkedMaze.CHUNK_SIZE / 2;
+            endlessColumn = ChunkedMaze.CHUNK_SIZE / 2;
+            farthest = 0;
+            endlessRenderer = new ChunkRenderer(this, endless, 20, endlessRow, endlessColumn);
+            startTime = System.currentTimeMillis();
+            state = ProgramStates.ENDLESS;
+        }
+        if(button == resignButton && state == ProgramStates.ENDLESS){
+            //There is no solution to show; the run just ends
+            endless = null;
+            endlessRenderer = null;
+            resignButton.setVisible(false);
+            resignButton.setEnabled(false);
+            state = ProgramStates.START;
+        }else if(button == resignButton){
+            //The solution is read from the distance field, starting wherever the player gave up
+            maze.solveFrom(player.getCell());
+            resignButton.setVisible(false);
+            resignButton.setEnabled(false);
+            state = ProgramStates.A_STAR_DONE;
+        }
+        if(button == cancelButton && task != null){
+            //The worker stops on its own; the half made maze is simply dropped
+            task.cancel();
+            task = null;
+            showCancel(false);
+            state = ProgramStates.START;
         }
         if (button == playAgainButton){
             playAgainButton.setVisible(false);
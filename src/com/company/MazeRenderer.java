@@ -0,0 +1,345 @@
+package com.company;
+
+import com.company.maze.Cell;
+import com.company.maze.Maze;
+import com.company.maze.PackedGrid;
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+import java.util.Arrays;
+
+/**
+ * Draws the part of a Maze seen by a Camera into an offscreen layer the size of the window. The view is only drawn
+ * again when the camera moves; otherwise only the visible cells whose walls or flags changed are redrawn, and each
+ * frame just copies the layer onto the window. Only cells inside the view are ever drawn. A full redraw draws every
+ * visible wall in one LINES shape, with each shared wall in it once and straight runs of walls merged into single
+ * lines. Once cells shrink below a pixel the view switches to a low-detail mode that colors each pixel from the
+ * cell under it.
+ */
+public class MazeRenderer {
+    private PApplet applet;
+    private Maze maze;
+    private PackedGrid grid;
+    private Camera camera;
+    private PGraphics layer;
+    private int drawnVersion;
+    private float[] walls;
+    private int wallCount;
+    private int cellWidth;
+    private int cellHeight;
+    private int rowStart, rowEnd, columnStart, columnEnd;
+
+    /**
+     * Constructor for MazeRenderer objects. The camera starts at zoom 1 over the center of the maze
+     * @param applet The PApplet being used
+     * @param maze The maze to draw
+     * @param dimensions How large each cell in the maze should be at zoom 1
+     */
+    public MazeRenderer(PApplet applet, Maze maze, int dimensions){
+        this.applet = applet;
+        this.maze = maze;
+        grid = maze.getGrid();
+        grid.trackChanges();
+        cellWidth = dimensions;
+        cellHeight = dimensions;
+
+        camera = new Camera(applet.width, applet.height, maze.getRows() * cellWidth, maze.getColumns() * cellHeight);
+    }
+
+    /**
+     * Method to display the maze. Needs to be called every frame
+     */
+    public void display(){
+        if(layer == null){
+            layer = applet.createGraphics(applet.width, applet.height);
+            redrawAll();
+        }else if(camera.getVersion() != drawnVersion){
+            redrawAll();
+        }else if(grid.getChangeCount() > 0){
+            if(isLowDetail()){
+                redrawAll();
+            }else{
+                layer.beginDraw();
+                boolean listed = grid.drainChanges(index -> {
+                    int row = grid.row(index);
+                    int column = grid.column(index);
+                    if(row >= rowStart && row <= rowEnd && column >= columnStart && column <= columnEnd){
+                        display(index);
+                    }
+                });
+                layer.endDraw();
+                if(!listed){
+                    redrawAll();
+                }
+            }
+        }
+        applet.image(layer, 0, 0);
+    }
+
+    /**
+     * Method to display the maze as it was last drawn, without reading the grid. Used while another thread is
+     * changing the grid; whatever it changed is drawn by the next call to display
+     */
+    public void displayCached(){
+        if(layer != null){
+            applet.image(layer, 0, 0);
+        }
+    }
+
+    /**
+     * Moves the camera to keep a cell in view
+     * @param cell The cell to follow
+     */
+    public void follow(Cell cell){
+        camera.follow((cell.getRow() + 0.5f) * cellWidth, (cell.getColumn() + 0.5f) * cellHeight);
+    }
+
+    /**
+     * Draws every visible cell of the maze onto a cleared layer
+     */
+    private void redrawAll(){
+        grid.drainChanges(index -> {});
+        drawnVersion = camera.getVersion();
+
+        //Only the cells overlapping the view are drawn
+        rowStart = Math.max(0, (int) Math.floor(camera.worldX(0) / cellWidth));
+        rowEnd = Math.min(grid.getRows() - 1, (int) Math.floor(camera.worldX(applet.width) / cellWidth));
+        columnStart = Math.max(0, (int) Math.floor(camera.worldY(0) / cellHeight));
+        columnEnd = Math.min(grid.getColumns() - 1, (int) Math.floor(camera.worldY(applet.height) / cellHeight));
+
+        layer.beginDraw();
+        layer.background(255);
+        if(isLowDetail()){
+            drawLowDetail();
+            layer.endDraw();
+            return;
+        }
+
+        layer.noStroke();
+        for (int r = rowStart; r <= rowEnd; r++){
+            for (int c = columnStart; c <= columnEnd; c++){
+                int index = grid.index(r, c);
+                if(fill(index)){
+                    layer.rect(getX(r), getY(c), getCellWidth(), getCellHeight());
+                }
+            }
+        }
+        buildWalls();
+        layer.stroke(0);
+        layer.beginShape(PApplet.LINES);
+        for (int i = 0; i < wallCount; i += 2){
+            layer.vertex(walls[i], walls[i + 1]);
+        }
+        layer.endShape();
+        layer.endDraw();
+    }
+
+    /**
+     * Determines if cells are too small to draw one by one
+     * @return true if a cell is smaller than a pixel on screen, false otherwise
+     */
+    private boolean isLowDetail(){
+        return cellWidth * camera.getZoom() < 1 || cellHeight * camera.getZoom() < 1;
+    }
+
+    /**
+     * Colors every pixel of the layer from the cell under its center. Flagged cells get their flag's color, and the
+     * rest are shaded by how many walls they have, so dead ends read darker. Costs one cell lookup per pixel no
+     * matter how many cells are in view. Must be called between layer.beginDraw and layer.endDraw
+     */
+    private void drawLowDetail(){
+        layer.loadPixels();
+        for (int py = 0; py < layer.height; py++){
+            int column = (int) Math.floor(camera.worldY(py + 0.5f) / cellHeight);
+            if(column < 0 || column >= grid.getColumns()){
+                continue;
+            }
+            for (int px = 0; px < layer.width; px++){
+                int row = (int) Math.floor(camera.worldX(px + 0.5f) / cellWidth);
+                if(row < 0 || row >= grid.getRows()){
+                    continue;
+                }
+                int index = grid.index(row, column);
+                int color;
+                if(grid.isSet(index, PackedGrid.END)){
+                    color = applet.color(255, 255, 0);
+                }else if(grid.isSet(index, PackedGrid.SOLUTION)){
+                    color = applet.color(0, 0, 255);
+                }else if(grid.isSet(index, PackedGrid.PATH)){
+                    color = applet.color(0, 255, 0);
+                }else{
+                    color = applet.color(255 - 40 * Integer.bitCount(grid.getWalls(index)));
+                }
+                layer.pixels[py * layer.width + px] = color;
+            }
+        }
+        layer.updatePixels();
+    }
+
+    /**
+     * Builds the geometry of every visible wall in the maze. Walls are stored on both cells that share them, so each
+     * grid line is walked once and consecutive walls along it are joined into a single line. The end points of every
+     * line are stored in walls as x1, y1, x2, y2, ...
+     */
+    private void buildWalls(){
+        int columns = grid.getColumns();
+        int rows = grid.getRows();
+        if(walls == null){
+            walls = new float[64];
+        }
+        wallCount = 0;
+
+        //Lines across the screen, between columns k - 1 and k
+        for (int k = columnStart; k <= columnEnd + 1; k++){
+            float y = getY(k);
+            int runStart = -1;
+            for (int r = rowStart; r <= rowEnd + 1; r++){
+                boolean wall = r <= rowEnd && (k < columns ? grid.hasWall(grid.index(r, k), Cell.Side.TOP)
+                        : grid.hasWall(grid.index(r, columns - 1), Cell.Side.BOTTOM));
+                if(wall && runStart == -1){
+                    runStart = r;
+                }else if(!wall && runStart != -1){
+                    addWall(getX(runStart), y, getX(r), y);
+                    runStart = -1;
+                }
+            }
+        }
+        //Lines down the screen, between rows k - 1 and k
+        for (int k = rowStart; k <= rowEnd + 1; k++){
+            float x = getX(k);
+            int runStart = -1;
+            for (int c = columnStart; c <= columnEnd + 1; c++){
+                boolean wall = c <= columnEnd && (k < rows ? grid.hasWall(grid.index(k, c), Cell.Side.RIGHT)
+                        : grid.hasWall(grid.index(rows - 1, c), Cell.Side.LEFT));
+                if(wall && runStart == -1){
+                    runStart = c;
+                }else if(!wall && runStart != -1){
+                    addWall(x, getY(runStart), x, getY(c));
+                    runStart = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a line to the wall geometry being built
+     */
+    private void addWall(float x1, float y1, float x2, float y2){
+        if(wallCount + 4 > walls.length){
+            walls = Arrays.copyOf(walls, walls.length * 2);
+        }
+        walls[wallCount++] = x1;
+        walls[wallCount++] = y1;
+        walls[wallCount++] = x2;
+        walls[wallCount++] = y2;
+    }
+
+    /**
+     * Sets the layer's fill to the color of a cell's flags
+     * @param index The index of the cell
+     * @return true if the cell has a flag that is drawn, false if it is plain white
+     */
+    private boolean fill(int index){
+        if(grid.isSet(index, PackedGrid.END)) {
+            layer.fill(255, 255, 0);
+        }else if (grid.isSet(index, PackedGrid.SOLUTION)) {
+            layer.fill(0, 0, 255);
+        } else if(grid.isSet(index, PackedGrid.PATH)) {
+            layer.fill(0, 255, 0);
+        }else{
+            layer.fill(255);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Draws a single cell of the maze onto the layer. Must be called between layer.beginDraw and layer.endDraw
+     * @param index The index of the cell in the maze's PackedGrid
+     */
+    private void display(int index){
+        float x = getX(grid.row(index));
+        float y = getY(grid.column(index));
+        float width = getCellWidth();
+        float height = getCellHeight();
+
+        //Every changed cell is filled, so a cell that loses a flag is painted back over
+        layer.noStroke();
+        fill(index);
+        layer.rect(x, y, width, height);
+
+        layer.stroke(0);
+
+        //Rows run left to right on screen, so the RIGHT side of a cell is drawn on its left edge
+        if(grid.hasWall(index, Cell.Side.RIGHT)){
+            layer.line(x, y, x, y+height);
+        }
+        if(grid.hasWall(index, Cell.Side.TOP)){
+            layer.line(x, y, x+width, y);
+        }
+        if(grid.hasWall(index, Cell.Side.LEFT)){
+            layer.line(x+width, y, x+width, y+height);
+        }
+        if(grid.hasWall(index, Cell.Side.BOTTOM)){
+            layer.line(x, y+height, x+width, y+height);
+        }
+    }
+
+    /**
+     * Finds the x coordinate of a cell on the PApplet
+     * @param cell The cell to locate
+     * @return The x coordinate of the cell's top left corner
+     */
+    public float getX(Cell cell){
+        return getX(cell.getRow());
+    }
+
+    /**
+     * Finds the y coordinate of a cell on the PApplet
+     * @param cell The cell to locate
+     * @return The y coordinate of the cell's top left corner
+     */
+    public float getY(Cell cell){
+        return getY(cell.getColumn());
+    }
+
+    private float getX(int row){
+        return camera.screenX(row * cellWidth);
+    }
+
+    private float getY(int column){
+        return camera.screenY(column * cellHeight);
+    }
+
+    /**
+     * Getter for the on-screen width of a cell
+     * @return How wide a cell is drawn at the camera's zoom
+     */
+    public float getCellWidth(){
+        return cellWidth * camera.getZoom();
+    }
+
+    /**
+     * Getter for the on-screen height of a cell
+     * @return How tall a cell is drawn at the camera's zoom
+     */
+    public float getCellHeight(){
+        return cellHeight * camera.getZoom();
+    }
+
+    /**
+     * Getter for the camera variable
+     * @return The Camera choosing which part of the maze is drawn
+     */
+    public Camera getCamera(){
+        return camera;
+    }
+
+    /**
+     * Getter for the applet variable
+     * @return The PApplet being drawn on
+     */
+    public PApplet getApplet(){
+        return applet;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company;
+
+import com.company.maze.Histogram;
+import com.company.maze.MazeMetrics;
+import processing.core.PApplet;
+
+/**
+ * Draws a summary of MazeMetrics in the top left corner of the window: frame times for the current state, input
+ * latency, and what generating and solving have cost so far. Times are in milliseconds. Reading the metrics is
+ * cheap, so the overlay can stay up while playing.
+ */
+public class MetricsOverlay {
+    private static final int LINE_HEIGHT = 16;
+
+    private PApplet applet;
+    private MazeMetrics metrics;
+
+    /**
+     * Constructor for MetricsOverlay objects
+     * @param applet The PApplet being drawn on
+     * @param metrics The metrics to show
+     */
+    public MetricsOverlay(PApplet applet, MazeMetrics metrics){
+        this.applet = applet;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Method to display the overlay. Needs to be called every frame, after everything it should cover
+     * @param state The name of the state the program is in
+     */
+    public void display(String state){
+        String[] lines = {
+                "FRAME " + state + " : " + summary(metrics.getFrameTime(state)),
+                "INPUT : " + summary(metrics.getInputLatency()),
+                "GENERATE : " + metrics.getMazesGenerated() + " done, " + metrics.getCellsCarved() + " cells, "
+                        + summary(metrics.getGenerationTime()),
+                "SOLVE : " + metrics.getSolves() + " done, " + metrics.getNodesExpanded() + " expanded, peak "
+                        + metrics.getOpenSetPeak() + ", " + summary(metrics.getSolveTime())
+        };
+
+        applet.textSize(12);
+        applet.textAlign(PApplet.LEFT, PApplet.TOP);
+        float width = 0;
+        for (String line : lines){
+            width = Math.max(width, applet.textWidth(line));
+        }
+        applet.noStroke();
+        applet.fill(0, 180);
+        applet.rect(0, 0, width + 10, lines.length * LINE_HEIGHT + 6);
+        applet.fill(255);
+        for (int i = 0; i < lines.length; i++){
+            applet.text(lines[i], 5, 3 + i * LINE_HEIGHT);
+        }
+        applet.fill(0);
+    }
+
+    /**
+     * Describes a histogram of nanosecond timings
+     * @param histogram The histogram, or null if nothing has been recorded
+     * @return The median, 99th percentile and largest time, in milliseconds
+     */
+    private static String summary(Histogram histogram){
+        if(histogram == null || histogram.getCount() == 0){
+            return "-";
+        }
+        return "p50 " + millis(histogram.percentile(0.5)) + " p99 " + millis(histogram.percentile(0.99))
+                + " max " + millis(histogram.getMax());
+    }
+
+    private static String millis(long nanos){
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
@@ -1,60 +1,96 @@
 package com.company;
 
+import com.company.maze.Cell;
 import processing.core.PApplet;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Player {
 
     private Cell cell;
-    private ArrayList<Cell> path;
-    private int x;
-    private int y;
+    //Indices of the cells on the player's trail, oldest first. Only trailSize entries are in use
+    private int[] trail;
+    private int trailSize;
+    private boolean eraseBacktracks;
     private PApplet applet;
+    private MazeRenderer renderer;
     private final int RADIUS = 5;
 
     /**
      * Constructor to build Player objects
-     * @param applet The PApplet being used for the program
+     * @param renderer The MazeRenderer drawing the maze the player is in
      * @param cell The Cell the player starts on
      */
-    public Player(PApplet applet , Cell cell){
-        this.applet = applet;
+    public Player(MazeRenderer renderer, Cell cell){
+        this.renderer = renderer;
+        this.applet = renderer.getApplet();
         this.cell = cell;
-        path = new ArrayList<>();
-        path.add(cell);
-        x = cell.getX();
-        y = cell.getY();
+        trail = new int[16];
+        push(cell);
     }
 
     /**
-     * Method to display the player. Needs to be in a loop
+     * Method to display the player. Needs to be in a loop. The position is read from the renderer every frame so the
+     * player stays on its cell as the camera moves, and it shrinks with the cells when zoomed out
      */
     public void display(){
         applet.stroke(0);
         applet.fill(0);
         applet.ellipseMode(applet.CENTER);
 
-        applet.ellipse(x + cell.getWidth()/2, y + cell.getHeight()/2, RADIUS*2, RADIUS*2);
+        float diameter = Math.max(1, Math.min(RADIUS*2, renderer.getCellWidth()/2));
+        applet.ellipse(renderer.getX(cell) + renderer.getCellWidth()/2, renderer.getY(cell) + renderer.getCellHeight()/2,
+                diameter, diameter);
         applet.noFill();
     }
 
     /**
-     * Method to update the position and properties of the player. Needs to be in a loop
-     * @param cell Players updated position
+     * Method to update the position and properties of the player. Only the cell moved to, or the cell moved off
+     * when erasing backtracks, is touched, so a move costs the same however long the trail is
+     * @param cell Players updated position, or null if the player could not move
      */
     public void update(Cell cell){
-        if(cell != null) {
-            if(cell != this.cell){
-                path.add(cell);
-            }
-            this.cell = cell;
-            x = cell.getX();
-            y = cell.getY();
+        if(cell == null || cell.equals(this.cell)){
+            return;
         }
-        for (Cell c : path){
-            c.setPath(true);//TODO make sure that a_star always resets every cell
+        if(eraseBacktracks && trailSize >= 2 && trail[trailSize - 2] == cell.getIndex()){
+            //Stepping back onto the previous cell un-marks the one being left
+            this.cell.setPath(false);
+            trailSize--;
+        }else if(!cell.isPath()){
+            push(cell);
         }
+        this.cell = cell;
+        renderer.follow(cell);
+    }
+
+    /**
+     * Adds a cell to the end of the trail and marks it as part of the path
+     * @param cell The cell to add
+     */
+    private void push(Cell cell){
+        if(trailSize == trail.length){
+            trail = Arrays.copyOf(trail, trailSize * 2);
+        }
+        trail[trailSize++] = cell.getIndex();
+        cell.setPath(true);
+    }
+
+    /**
+     * Sets whether walking back along the trail un-marks the cells retraced. When off, every cell ever visited stays
+     * marked. Off by default
+     * @param eraseBacktracks The new value for eraseBacktracks
+     */
+    public void setEraseBacktracks(boolean eraseBacktracks){
+        this.eraseBacktracks = eraseBacktracks;
+    }
+
+    /**
+     * Getter for the trailSize variable
+     * @return How many cells are marked on the player's trail, the start included
+     */
+    public int getTrailLength(){
+        return trailSize;
     }
 
     /**
@@ -0,0 +1,195 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * A* pathfinder over a PackedGrid that can be run any number of times. Its scratch arrays are stamped with the
+ * number of the search that wrote them, so starting a new search only bumps that number instead of clearing the
+ * arrays; anything stamped by an earlier search is treated as unset. Thousands of searches between different
+ * cells of one maze cost only the work each search does.
+ */
+public class AStarSolver implements PathSolver {
+    private static final Cell.Side[] SIDES = Cell.Side.values();
+
+    private PackedGrid grid;
+    private final IndexedMinHeap openSet;
+    private final int[] gScores;
+    private final int[] cameFrom;
+    //seen[i] == epoch means gScores[i] and cameFrom[i] belong to this search, closed[i] == epoch that i is closed
+    private final int[] seen;
+    private final int[] closed;
+    private int epoch;
+    private Heuristic heuristic = Heuristic.MANHATTAN;
+    private int from = -1;
+    private int goal = -1;
+    private boolean finished;
+    private boolean found;
+    private int nodesExpanded;
+    private int openSetPeak;
+
+    /**
+     * Constructor for AStarSolver objects. Allocates every array the searches will need up front
+     * @param grid The grid of the maze to search
+     */
+    public AStarSolver(PackedGrid grid){
+        this.grid = grid;
+        openSet = new IndexedMinHeap(grid.size());
+        gScores = new int[grid.size()];
+        cameFrom = new int[grid.size()];
+        seen = new int[grid.size()];
+        closed = new int[grid.size()];
+    }
+
+    /**
+     * Sets the heuristic used to estimate the distance to the goal. Takes effect from the next search started
+     * @param heuristic The Heuristic to use. Heuristic.MANHATTAN by default
+     */
+    @Override
+    public void setHeuristic(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Points the solver at another grid, keeping its arrays, so one solver can search many grids in turn. Takes
+     * effect from the next search started
+     * @param grid The grid to search. Must have no more cells than the grid the solver was built for
+     */
+    void setGrid(PackedGrid grid){
+        if(grid.size() > seen.length){
+            throw new IllegalArgumentException("A solver for " + seen.length + " cells cannot search "
+                    + grid.size() + " cells");
+        }
+        this.grid = grid;
+    }
+
+    /**
+     * Starts a new search, forgetting the last one. Costs nothing per cell of the grid
+     * @param from The index of the cell to search from
+     * @param goal The index of the cell to search for
+     */
+    @Override
+    public void start(int from, int goal){
+        epoch++;
+        if(epoch == Integer.MAX_VALUE){
+            //Only reached after billions of searches; wipe the stamps once so old ones can never match again
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            epoch = 1;
+        }
+        openSet.clear();
+        this.from = from;
+        this.goal = goal;
+        finished = false;
+        found = false;
+        nodesExpanded = 0;
+        openSetPeak = 0;
+
+        seen[from] = epoch;
+        gScores[from] = 0;
+        cameFrom[from] = -1;
+        openSet.add(from, heuristic(from));
+    }
+
+    /**
+     * Expands one cell of the current search. Needs to be run in a loop
+     * @return Returns whether the search has finished. true if it has, false otherwise
+     */
+    @Override
+    public boolean step(){
+        if(finished){
+            return true;
+        }
+        if(openSet.isEmpty()){
+            finished = true;
+            return true;
+        }
+        int current = openSet.poll();
+        if(current == goal){
+            //We're done!
+            finished = true;
+            found = true;
+            return true;
+        }
+
+        closed[current] = epoch;
+        nodesExpanded++;
+        for(Cell.Side side : SIDES){
+            int neighbor = grid.neighbor(current, side);
+            if(neighbor == -1 || grid.hasWall(current, side) || closed[neighbor] == epoch){
+                continue;
+            }
+
+            int tempGScore = gScores[current] + 1;
+            if(seen[neighbor] != epoch || tempGScore < gScores[neighbor]){
+                seen[neighbor] = epoch;
+                gScores[neighbor] = tempGScore;
+                cameFrom[neighbor] = current;
+                //f(x) = g(x) + h(x)
+                openSet.add(neighbor, tempGScore + heuristic(neighbor));
+            }
+        }
+        openSetPeak = Math.max(openSetPeak, openSet.size());
+        return false;
+    }
+
+    /**
+     * Marks the path found by the last search with the SOLUTION flag, except for the cell it started from
+     * @return How many cells were marked, or -1 if no path was found
+     */
+    @Override
+    public int markPath(){
+        if(!found){
+            return -1;
+        }
+        int length = 0;
+        for (int index = goal; index != from; index = cameFrom[index]){
+            grid.set(index, PackedGrid.SOLUTION, true);
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Getter for the length of the path found by the last search
+     * @return How many moves the path takes, or -1 if the search has not found one
+     */
+    @Override
+    public int getPathLength(){
+        return found ? gScores[goal] : -1;
+    }
+
+    /**
+     * Getter for the found variable
+     * @return true if the last search finished and reached its goal, false otherwise
+     */
+    public boolean isFound(){
+        return found;
+    }
+
+    /**
+     * Getter for the nodesExpanded variable
+     * @return How many cells the last search has taken off the open set
+     */
+    @Override
+    public int getNodesExpanded(){
+        return nodesExpanded;
+    }
+
+    /**
+     * Getter for the openSetPeak variable
+     * @return The most cells the last search's open set has held at once
+     */
+    @Override
+    public int getOpenSetPeak(){
+        return openSetPeak;
+    }
+
+    /**
+     * Calculates the h(x) of a cell for the current goal
+     * @param index The index of the cell being estimated
+     * @return The h(x)
+     */
+    private int heuristic(int index){
+        return heuristic.estimate(grid.row(index), grid.column(index), grid.row(goal), grid.column(goal));
+    }
+}
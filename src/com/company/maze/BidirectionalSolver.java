@@ -0,0 +1,198 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * A* pathfinder that searches forward from the start and backward from the goal at the same time, each search
+ * guided towards the other's starting cell. Every step expands one cell from whichever search has the smaller open
+ * set. Whenever either search reaches a cell the other has seen, the two halves form a path, and the search stops
+ * once neither side can find a shorter one. On deep tree mazes the two frontiers stay smaller than one frontier
+ * reaching all the way across. Uses the same stamped scratch arrays as AStarSolver, so it can be reused freely.
+ */
+public class BidirectionalSolver implements PathSolver {
+    private static final Cell.Side[] SIDES = Cell.Side.values();
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+
+    private final PackedGrid grid;
+    //Everything below is indexed by direction first, FORWARD or BACKWARD
+    private final IndexedMinHeap[] openSets = new IndexedMinHeap[2];
+    private final int[][] gScores = new int[2][];
+    private final int[][] cameFrom = new int[2][];
+    private final int[][] seen = new int[2][];
+    private final int[][] closed = new int[2][];
+    private int epoch;
+    private Heuristic heuristic = Heuristic.MANHATTAN;
+    private int from = -1;
+    private int goal = -1;
+    //The length of the best path found so far, and the cell where its two halves meet
+    private int best;
+    private int meeting;
+    private boolean finished;
+    private int nodesExpanded;
+    private int openSetPeak;
+
+    /**
+     * Constructor for BidirectionalSolver objects. Allocates every array both searches will need up front
+     * @param grid The grid of the maze to search
+     */
+    public BidirectionalSolver(PackedGrid grid){
+        this.grid = grid;
+        for (int d = 0; d < 2; d++){
+            openSets[d] = new IndexedMinHeap(grid.size());
+            gScores[d] = new int[grid.size()];
+            cameFrom[d] = new int[grid.size()];
+            seen[d] = new int[grid.size()];
+            closed[d] = new int[grid.size()];
+        }
+    }
+
+    @Override
+    public void setHeuristic(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public void start(int from, int goal){
+        epoch++;
+        if(epoch == Integer.MAX_VALUE){
+            for (int d = 0; d < 2; d++){
+                Arrays.fill(seen[d], 0);
+                Arrays.fill(closed[d], 0);
+            }
+            epoch = 1;
+        }
+        this.from = from;
+        this.goal = goal;
+        finished = false;
+        nodesExpanded = 0;
+        openSetPeak = 0;
+        best = Integer.MAX_VALUE;
+        meeting = -1;
+
+        for (int d = 0; d < 2; d++){
+            int origin = d == FORWARD ? from : goal;
+            openSets[d].clear();
+            seen[d][origin] = epoch;
+            gScores[d][origin] = 0;
+            cameFrom[d][origin] = -1;
+            openSets[d].add(origin, key(origin, 0, d));
+        }
+        if(from == goal){
+            best = 0;
+            meeting = from;
+        }
+    }
+
+    @Override
+    public boolean step(){
+        if(finished){
+            return true;
+        }
+        if(openSets[FORWARD].isEmpty() || openSets[BACKWARD].isEmpty()){
+            finished = true;
+            return true;
+        }
+        //No path through a cell still in both open sets can be shorter than this
+        if(meeting != -1 && openSets[FORWARD].peekKey() + openSets[BACKWARD].peekKey() >= 2 * best){
+            //We're done!
+            finished = true;
+            return true;
+        }
+
+        int d = openSets[FORWARD].size() <= openSets[BACKWARD].size() ? FORWARD : BACKWARD;
+        int other = 1 - d;
+        int current = openSets[d].poll();
+        closed[d][current] = epoch;
+        nodesExpanded++;
+        for(Cell.Side side : SIDES){
+            int neighbor = grid.neighbor(current, side);
+            if(neighbor == -1 || grid.hasWall(current, side) || closed[d][neighbor] == epoch){
+                continue;
+            }
+
+            int tempGScore = gScores[d][current] + 1;
+            if(seen[d][neighbor] != epoch || tempGScore < gScores[d][neighbor]){
+                seen[d][neighbor] = epoch;
+                gScores[d][neighbor] = tempGScore;
+                cameFrom[d][neighbor] = current;
+                openSets[d].add(neighbor, key(neighbor, tempGScore, d));
+
+                if(seen[other][neighbor] == epoch && tempGScore + gScores[other][neighbor] < best){
+                    //The searches have met here
+                    best = tempGScore + gScores[other][neighbor];
+                    meeting = neighbor;
+                }
+            }
+        }
+        openSetPeak = Math.max(openSetPeak, openSets[FORWARD].size() + openSets[BACKWARD].size());
+        return false;
+    }
+
+    @Override
+    public int markPath(){
+        if(!finished || meeting == -1){
+            return -1;
+        }
+        int length = 0;
+        //Back from the meeting cell to the start, leaving the start unmarked
+        for (int index = meeting; index != from; index = cameFrom[FORWARD][index]){
+            grid.set(index, PackedGrid.SOLUTION, true);
+            length++;
+        }
+        //On from the meeting cell to the goal
+        for (int index = meeting; index != goal; ){
+            index = cameFrom[BACKWARD][index];
+            grid.set(index, PackedGrid.SOLUTION, true);
+            length++;
+        }
+        return length;
+    }
+
+    @Override
+    public int getPathLength(){
+        return finished && meeting != -1 ? best : -1;
+    }
+
+    /**
+     * Getter for the nodesExpanded variable
+     * @return How many cells both searches together have taken off their open sets
+     */
+    @Override
+    public int getNodesExpanded(){
+        return nodesExpanded;
+    }
+
+    /**
+     * Getter for the openSetPeak variable
+     * @return The most cells both open sets together have held at once
+     */
+    @Override
+    public int getOpenSetPeak(){
+        return openSetPeak;
+    }
+
+    /**
+     * Calculates the key a cell is ordered by in one search's open set, doubled to keep it whole. Each search is
+     * guided by half the difference between the two heuristics rather than by its own heuristic, so both searches
+     * see the same edge costs and the sum of their smallest keys is a bound on any path not yet found
+     * @param index The index of the cell
+     * @param gScore How far the cell is from the search's starting cell
+     * @param d FORWARD or BACKWARD
+     * @return 2g(x) + h(x) - h'(x), where h' is the other search's heuristic
+     */
+    private int key(int index, int gScore, int d){
+        return 2 * gScore + heuristic(index, d) - heuristic(index, 1 - d);
+    }
+
+    /**
+     * Calculates the h(x) of a cell for one of the searches
+     * @param index The index of the cell being estimated
+     * @param d FORWARD to estimate the distance to the goal, BACKWARD for the distance to the start
+     * @return The h(x)
+     */
+    private int heuristic(int index, int d){
+        int target = d == FORWARD ? goal : from;
+        return heuristic.estimate(grid.row(index), grid.column(index), grid.row(target), grid.column(target));
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.maze;
+
+/**
+ * Carves every cell toward either the previous row or the previous column. Needs no memory beyond the grid and
+ * is the fastest generator, but the first row and column are always straight corridors. Each step carves one cell.
+ */
+public class BinaryTreeGenerator extends CarvingGenerator {
+    private int next;
+
+    @Override
+    protected void begin(int startIndex){
+        next = 0;
+    }
+
+    @Override
+    public boolean step(){
+        if(next == grid.size()){
+            return true;
+        }
+        boolean up = grid.neighbor(next, Cell.Side.RIGHT) != -1;
+        boolean back = grid.neighbor(next, Cell.Side.TOP) != -1;
+        if(up && back){
+            carve(next, nextInt(2) == 0 ? Cell.Side.RIGHT : Cell.Side.TOP);
+        }else if(up){
+            carve(next, Cell.Side.RIGHT);
+        }else if(back){
+            carve(next, Cell.Side.TOP);
+        }
+        grid.set(next, PackedGrid.VISITED, true);
+        next++;
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.maze;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shared plumbing for the built-in generators: remembers the grid and knows how to knock down the wall
+ * between two cells.
+ */
+abstract class CarvingGenerator implements MazeGenerator {
+    protected static final Cell.Side[] SIDES = Cell.Side.values();
+
+    protected PackedGrid grid;
+    private SplittableRandom random;
+    private int carved;
+
+    @Override
+    public void start(PackedGrid grid, int startIndex, SplittableRandom random){
+        this.grid = grid;
+        this.random = random;
+        carved = 0;
+        grid.set(startIndex, PackedGrid.VISITED, true);
+        begin(startIndex);
+    }
+
+    /**
+     * Sets up the algorithm's own state. Called by start once the grid is known
+     * @param startIndex The index of the cell generation starts from
+     */
+    protected abstract void begin(int startIndex);
+
+    /**
+     * Removes the wall between a cell and its neighbor on one side, and marks both as visited
+     * @param index The index of the cell
+     * @param side The side of the cell to carve through
+     * @return The index of the neighbor
+     */
+    protected int carve(int index, Cell.Side side){
+        int neighbor = grid.neighbor(index, side);
+        grid.removeWall(index, side);
+        grid.removeWall(neighbor, side.opposite());
+        grid.set(index, PackedGrid.VISITED, true);
+        grid.set(neighbor, PackedGrid.VISITED, true);
+        carved++;
+        return neighbor;
+    }
+
+    /**
+     * Every built-in generator carves a perfect maze, which takes exactly one carve per cell but the first
+     * @return How many of those carves have been made, from 0 to 1
+     */
+    @Override
+    public double getProgress(){
+        return grid == null || grid.size() < 2 ? 0 : (double) carved / (grid.size() - 1);
+    }
+
+    /**
+     * Picks a random number
+     * @param bound The upper bound (exclusive)
+     * @return A random int from 0 to bound - 1
+     */
+    protected int nextInt(int bound){
+        return random.nextInt(bound);
+    }
+}
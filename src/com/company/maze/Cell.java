@@ -0,0 +1,167 @@
+package com.company.maze;
+
+/**
+ * A view of a single cell in a PackedGrid. Cells hold no state of their own, so two Cell objects for the same
+ * position in the same grid are equal and can be created and thrown away freely.
+ */
+public class Cell{
+    private final PackedGrid grid;
+    private final int row;
+    private final int column;
+    private final int index;
+
+    public enum Side {
+        TOP, RIGHT, LEFT, BOTTOM;
+
+        /**
+         * Finds the side facing this one from the neighboring cell
+         * @return The opposite side
+         */
+        public Side opposite(){
+            switch (this){
+                case TOP:
+                    return BOTTOM;
+                case BOTTOM:
+                    return TOP;
+                case RIGHT:
+                    return LEFT;
+                default:
+                    return RIGHT;
+            }
+        }
+    }
+
+    /**
+     * Construction for a Cell object
+     * @param grid The grid storing the cell's walls and flags
+     * @param row The row of the cell in the maze grid
+     * @param column The column of the cell in the maze grid
+     */
+    Cell(PackedGrid grid, int row, int column){
+        this.grid = grid;
+        this.row = row;
+        this.column = column;
+        index = grid.index(row, column);
+    }
+
+    /**
+     * Determines if there is a wall on the selected side
+     * @param side Which side of the cell to be evaluated
+     * @return true if the side has a wall, false otherwise
+     */
+    public boolean getWall(Side side){
+        return grid.hasWall(index, side);
+    }
+
+    /**
+     * Getter for the row variable
+     * @return The row of the cell in the maze grid
+     */
+    public int getRow(){
+        return row;
+    }
+    /**
+     * Getter for the column variable
+     * @return The column of the cell in the maze grid
+     */
+    public int getColumn(){
+        return column;
+    }
+    /**
+     * Getter for the index variable
+     * @return The index of the cell in its PackedGrid
+     */
+    public int getIndex(){
+        return index;
+    }
+    /**
+     * Setter for the visited variable
+     * @param visited The new value for visited
+     */
+    public void setVisited(boolean visited){
+        grid.set(index, PackedGrid.VISITED, visited);
+    }
+    /**
+     * Setter for the solution variable
+     * @param solution The new value for solution
+     */
+    public void setSolution(boolean solution){
+        grid.set(index, PackedGrid.SOLUTION, solution);
+    }
+    /**
+     * Setter for the path variable
+     * @param path The new value for path
+     */
+    public void setPath(boolean path){
+        grid.set(index, PackedGrid.PATH, path);
+    }
+    /**
+     * Determines if a cell is part of the player's path
+     */
+    public boolean isPath(){
+        return grid.isSet(index, PackedGrid.PATH);
+    }
+    /**
+     * Determines if a cell is part of the A* solution
+     */
+    public boolean isSolution(){
+        return grid.isSet(index, PackedGrid.SOLUTION);
+    }
+    /**
+     * Determines if a cell is the end of the maze
+     */
+    public boolean isEnd(){
+        return grid.isSet(index, PackedGrid.END);
+    }
+    /**
+     * Setter for the end variable
+     * @param end The new value for end
+     */
+    public void setEnd(boolean end){
+        grid.set(index, PackedGrid.END, end);
+    }
+    /**
+     * Determines if a cell has been visited
+     */
+    public boolean isVisited(){
+        return grid.isSet(index, PackedGrid.VISITED);
+    }
+
+    /**
+     * Removes a wall from a specified side of the cell
+     * @param side The side of the cell to remove a wall from
+     */
+    public void removeWall(Side side){
+        grid.removeWall(index, side);
+    }
+
+    /**
+     * Cells are equal when they are the same position in the same grid
+     * @param o The object to compare to
+     * @return true if both refer to the same cell, false otherwise
+     */
+    @Override
+    public boolean equals(Object o){
+        if(!(o instanceof Cell)){
+            return false;
+        }
+        Cell other = (Cell) o;
+        return other.grid == grid && other.index == index;
+    }
+
+    @Override
+    public int hashCode(){
+        return index;
+    }
+
+    /**
+     * Method called when the object is printed
+     * @return A string representation of the object
+     */
+    @Override
+    public String toString(){
+        String out = "";
+        out += "row : " + row + " column : " + column + " ";
+        return out;
+    }
+}
@@ -0,0 +1,295 @@
+package com.company.maze;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A maze with no edges, split into square chunks that are only generated once something comes near them. Each
+ * chunk is carved on its own as a perfect maze, then every edge it shares with a neighboring chunk gets one door.
+ * A chunk's maze and doors depend only on the seed and where the chunk is, so a chunk can be generated in any order,
+ * on any thread, and thrown away and generated again identically later.
+ *
+ * Only the most recently used chunks are kept, so memory stays bounded however far the maze is explored. Flags set
+ * on a chunk are forgotten when it is thrown away. Chunks are generated on an executor and picked up by prefetch,
+ * so the caller never waits for one; until a chunk is ready every side of its cells reads as a wall. Every method
+ * must be called from the same thread.
+ */
+public class ChunkedMaze {
+    public static final int CHUNK_SIZE = 32;
+    //Odd constants that spread chunk and door coordinates over the seed
+    private static final long ROW_STEP = 0x9E3779B97F4A7C15L;
+    private static final long COLUMN_STEP = 0xC2B2AE3D27D4EB4FL;
+    private static final long DOOR_STEP = 0x165667B19E3779F9L;
+
+    private final long seed;
+    private final ExecutorService executor;
+    private final Map<Long, PackedGrid> chunks;
+    private final Map<Long, Future<PackedGrid>> pending = new HashMap<>();
+    private MazeGenerator.Algorithm algorithm = MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER;
+    private int version;
+
+    /**
+     * Constructor for ChunkedMaze objects.
+     * @param seed The seed every chunk is generated from
+     * @param maxChunks How many chunks to keep before throwing away the least recently used
+     * @param executor The executor chunks are generated on, or null to generate them on the calling thread as soon
+     * as they are asked for
+     */
+    public ChunkedMaze(long seed, int maxChunks, ExecutorService executor){
+        this.seed = seed;
+        this.executor = executor;
+        chunks = new LinkedHashMap<Long, PackedGrid>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PackedGrid> eldest){
+                return size() > maxChunks;
+            }
+        };
+    }
+
+    /**
+     * Sets the algorithm that carves each chunk. Chunks generated already keep the algorithm they were carved with
+     * @param algorithm The algorithm. RECURSIVE_BACKTRACKER by default
+     */
+    public void setAlgorithm(MazeGenerator.Algorithm algorithm){
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Asks for every chunk within a distance of a cell's chunk, and takes in any chunks that have finished
+     * generating. Meant to be called every frame with the player's cell
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param radius How many chunks out from the cell's chunk to ask for
+     */
+    public void prefetch(int row, int column, int radius){
+        collect();
+        int chunkRow = Math.floorDiv(row, CHUNK_SIZE);
+        int chunkColumn = Math.floorDiv(column, CHUNK_SIZE);
+        //Nearest first, so the chunks the player reaches soonest are queued soonest
+        for (int ring = 0; ring <= radius; ring++){
+            for (int r = chunkRow - ring; r <= chunkRow + ring; r++){
+                for (int c = chunkColumn - ring; c <= chunkColumn + ring; c++){
+                    if(Math.max(Math.abs(r - chunkRow), Math.abs(c - chunkColumn)) == ring){
+                        request(r, c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a chunk if it is ready, without asking for it
+     * @param chunkRow The row of the chunk, in chunks
+     * @param chunkColumn The column of the chunk, in chunks
+     * @return The chunk's grid, or null if it has not been generated or has been thrown away
+     */
+    public PackedGrid getChunk(int chunkRow, int chunkColumn){
+        return chunks.get(key(chunkRow, chunkColumn));
+    }
+
+    /**
+     * Determines if the chunk holding a cell is ready
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @return true if the cell can be read, false otherwise
+     */
+    public boolean isReady(int row, int column){
+        return chunkOf(row, column) != null;
+    }
+
+    /**
+     * Determines if there is a wall on a side of a cell
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param side The side to check
+     * @return true if the side has a wall or the cell's chunk is not ready, false otherwise
+     */
+    public boolean hasWall(int row, int column, Cell.Side side){
+        PackedGrid chunk = chunkOf(row, column);
+        return chunk == null || chunk.hasWall(localIndex(chunk, row, column), side);
+    }
+
+    /**
+     * Determines if a player could move from a cell through one of its sides. Needs the chunks on both sides of
+     * the move to be ready
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param side The side to move through
+     * @return true if the move is possible, false otherwise
+     */
+    public boolean canMove(int row, int column, Cell.Side side){
+        if(hasWall(row, column, side)){
+            return false;
+        }
+        switch (side){
+            case TOP:
+                return isReady(row, column - 1);
+            case BOTTOM:
+                return isReady(row, column + 1);
+            case RIGHT:
+                return isReady(row - 1, column);
+            default:
+                return isReady(row + 1, column);
+        }
+    }
+
+    /**
+     * Determines if a flag is set on a cell
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param flag One of PackedGrid's flags
+     * @return true if the flag is set, false if it is not or the cell's chunk is not ready
+     */
+    public boolean isSet(int row, int column, int flag){
+        PackedGrid chunk = chunkOf(row, column);
+        return chunk != null && chunk.isSet(localIndex(chunk, row, column), flag);
+    }
+
+    /**
+     * Sets or clears a flag on a cell. Does nothing if the cell's chunk is not ready
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param flag One of PackedGrid's flags
+     * @param value Whether the flag should be set
+     */
+    public void set(int row, int column, int flag, boolean value){
+        PackedGrid chunk = chunkOf(row, column);
+        if(chunk != null && chunk.isSet(localIndex(chunk, row, column), flag) != value){
+            chunk.set(localIndex(chunk, row, column), flag, value);
+            version++;
+        }
+    }
+
+    /**
+     * Getter for the version variable
+     * @return A number that changes every time a chunk arrives or a flag changes
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * Getter for how many chunks are kept
+     * @return The number of chunks ready to be read
+     */
+    public int getChunkCount(){
+        return chunks.size();
+    }
+
+    /**
+     * Getter for how many chunks are being generated
+     * @return The number of chunks asked for that are not ready yet
+     */
+    public int getPendingCount(){
+        return pending.size();
+    }
+
+    /**
+     * Getter for the seed variable
+     * @return The seed every chunk is generated from
+     */
+    public long getSeed(){
+        return seed;
+    }
+
+    /**
+     * Generates one chunk. Depends only on its arguments, so it can run on any thread
+     * @param seed The seed of the maze
+     * @param algorithm The algorithm that carves the chunk
+     * @param chunkRow The row of the chunk, in chunks
+     * @param chunkColumn The column of the chunk, in chunks
+     * @return The chunk's grid, carved and with its four doors opened
+     */
+    public static PackedGrid generateChunk(long seed, MazeGenerator.Algorithm algorithm, int chunkRow,
+                                           int chunkColumn){
+        long begin = System.nanoTime();
+        PackedGrid chunk = new PackedGrid(CHUNK_SIZE, CHUNK_SIZE);
+        MazeGenerator generator = algorithm.create();
+        generator.start(chunk, 0, new SplittableRandom(seed + chunkRow * ROW_STEP + chunkColumn * COLUMN_STEP));
+        while(!generator.step()){
+            //Keep carving until the chunk is done
+        }
+        chunk.clear(PackedGrid.VISITED);
+
+        //Each door is shared with a neighbor, which works out the same position for it
+        int last = CHUNK_SIZE - 1;
+        chunk.removeWall(chunk.index(last, door(seed, chunkRow, chunkColumn, 0)), Cell.Side.LEFT);
+        chunk.removeWall(chunk.index(0, door(seed, chunkRow - 1, chunkColumn, 0)), Cell.Side.RIGHT);
+        chunk.removeWall(chunk.index(door(seed, chunkRow, chunkColumn, 1), last), Cell.Side.BOTTOM);
+        chunk.removeWall(chunk.index(door(seed, chunkRow, chunkColumn - 1, 1), 0), Cell.Side.TOP);
+        MazeMetrics.get().recordGeneration(generator.getClass().getSimpleName(), chunk.size() - 1,
+                System.nanoTime() - begin);
+        return chunk;
+    }
+
+    /**
+     * Finds where the door on one of a chunk's far edges is
+     * @param seed The seed of the maze
+     * @param chunkRow The row of the chunk, in chunks
+     * @param chunkColumn The column of the chunk, in chunks
+     * @param axis 0 for the edge shared with the next chunk row, 1 for the edge shared with the next chunk column
+     * @return How far along the edge the door is
+     */
+    private static int door(long seed, int chunkRow, int chunkColumn, int axis){
+        long doorSeed = seed + chunkRow * ROW_STEP + chunkColumn * COLUMN_STEP + (axis + 1) * DOOR_STEP;
+        return new SplittableRandom(doorSeed).nextInt(CHUNK_SIZE);
+    }
+
+    /**
+     * Starts generating a chunk unless it is ready or already on its way
+     * @param chunkRow The row of the chunk, in chunks
+     * @param chunkColumn The column of the chunk, in chunks
+     */
+    private void request(int chunkRow, int chunkColumn){
+        long key = key(chunkRow, chunkColumn);
+        if(chunks.containsKey(key) || pending.containsKey(key)){
+            return;
+        }
+        MazeGenerator.Algorithm algorithm = this.algorithm;
+        if(executor == null){
+            chunks.put(key, generateChunk(seed, algorithm, chunkRow, chunkColumn));
+            version++;
+        }else{
+            pending.put(key, executor.submit(() -> generateChunk(seed, algorithm, chunkRow, chunkColumn)));
+        }
+    }
+
+    /**
+     * Moves every chunk that has finished generating into the chunks kept
+     */
+    private void collect(){
+        Iterator<Map.Entry<Long, Future<PackedGrid>>> iterator = pending.entrySet().iterator();
+        while(iterator.hasNext()){
+            Map.Entry<Long, Future<PackedGrid>> entry = iterator.next();
+            if(entry.getValue().isDone()){
+                iterator.remove();
+                try {
+                    chunks.put(entry.getKey(), entry.getValue().get());
+                    version++;
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }catch (ExecutionException e){
+                    throw new IllegalStateException("Could not generate a chunk", e.getCause());
+                }
+            }
+        }
+    }
+
+    private PackedGrid chunkOf(int row, int column){
+        return chunks.get(key(Math.floorDiv(row, CHUNK_SIZE), Math.floorDiv(column, CHUNK_SIZE)));
+    }
+
+    private static int localIndex(PackedGrid chunk, int row, int column){
+        return chunk.index(Math.floorMod(row, CHUNK_SIZE), Math.floorMod(column, CHUNK_SIZE));
+    }
+
+    private static long key(int chunkRow, int chunkColumn){
+        return (long) chunkRow << 32 | (chunkColumn & 0xFFFFFFFFL);
+    }
+}
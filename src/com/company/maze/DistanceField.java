@@ -0,0 +1,99 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * The distance from every cell of a maze to one target cell, and the first step of the route there. Built with one
+ * breadth first search, after which finding how far any cell is from the target, or which way to go, takes no
+ * searching at all. In a perfect maze the route is the only one, so following the steps gives the solution.
+ */
+public class DistanceField {
+    private static final Cell.Side[] SIDES = Cell.Side.values();
+
+    private final PackedGrid grid;
+    private final int target;
+    private final int[] distances;
+    private final int[] parents;
+
+    /**
+     * Constructor for DistanceField objects. Searches outward from the target through every open wall
+     * @param grid The grid of the generated maze
+     * @param target The index of the cell every distance is measured to
+     */
+    public DistanceField(PackedGrid grid, int target){
+        this.grid = grid;
+        this.target = target;
+        distances = new int[grid.size()];
+        parents = new int[grid.size()];
+        Arrays.fill(distances, -1);
+        Arrays.fill(parents, -1);
+
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = target;
+        distances[target] = 0;
+        while(head < tail){
+            int current = queue[head++];
+            for (Cell.Side side : SIDES){
+                int neighbor = grid.neighbor(current, side);
+                if(neighbor == -1 || grid.hasWall(current, side) || distances[neighbor] != -1){
+                    continue;
+                }
+                distances[neighbor] = distances[current] + 1;
+                parents[neighbor] = current;
+                queue[tail++] = neighbor;
+            }
+        }
+    }
+
+    /**
+     * Finds how many moves a cell is from the target
+     * @param index The index of the cell
+     * @return The number of moves, or -1 if the cell cannot reach the target
+     */
+    public int distance(int index){
+        return distances[index];
+    }
+
+    /**
+     * Finds the first step from a cell towards the target
+     * @param index The index of the cell
+     * @return The index of the next cell on the route, or -1 if the cell is the target or cannot reach it
+     */
+    public int next(int index){
+        return parents[index];
+    }
+
+    /**
+     * Marks the route from a cell to the target with the SOLUTION flag. Costs one step per cell on the route
+     * @param from The index of the cell to start from
+     * @return How many moves the route takes, or -1 if the cell cannot reach the target
+     */
+    public int markPath(int from){
+        if(distances[from] == -1){
+            return -1;
+        }
+        //Like A*, the solution covers every cell of the route but the one it starts from
+        for (int index = parents[from]; index != -1; index = parents[index]){
+            grid.set(index, PackedGrid.SOLUTION, true);
+        }
+        return distances[from];
+    }
+
+    /**
+     * Getter for the number of cells in the field
+     * @return The number of cells in the maze's grid
+     */
+    public int size(){
+        return distances.length;
+    }
+
+    /**
+     * Getter for the target variable
+     * @return The index of the cell every distance is measured to
+     */
+    public int getTarget(){
+        return target;
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.maze;
+
+/**
+ * Eller's algorithm. Builds the maze one row at a time, only remembering which set each cell of the current row
+ * belongs to, so it needs memory proportional to the width of the maze rather than its area. Each step carves one
+ * row.
+ */
+public class EllerGenerator extends CarvingGenerator {
+    private int row;
+    private int columns;
+    private int[] sets;
+    private int[] parent;
+    private int[] remap;
+    private boolean[] down;
+    private boolean[] setHasDown;
+
+    @Override
+    protected void begin(int startIndex){
+        row = 0;
+        columns = grid.getColumns();
+        sets = new int[columns];
+        //Labels are compacted into [0, columns) after every row, and new cells get labels above that
+        parent = new int[2 * columns];
+        remap = new int[2 * columns];
+        down = new boolean[columns];
+        setHasDown = new boolean[columns];
+        for (int c = 0; c < columns; c++){
+            sets[c] = c;
+        }
+    }
+
+    @Override
+    public boolean step(){
+        if(row == grid.getRows()){
+            return true;
+        }
+        int base = row * columns;
+        boolean last = row == grid.getRows() - 1;
+        for (int c = 0; c < columns; c++){
+            parent[c] = c;
+            grid.set(base + c, PackedGrid.VISITED, true);
+        }
+
+        //Randomly join neighbors in the row that are not connected yet. The last row joins all of them
+        for (int c = 0; c < columns - 1; c++){
+            int a = find(sets[c]);
+            int b = find(sets[c + 1]);
+            if(a != b && (last || nextInt(2) == 0)){
+                parent[a] = b;
+                carve(base + c, Cell.Side.BOTTOM);
+            }
+        }
+        row++;
+        if(last){
+            return true;
+        }
+
+        //Every set has to carry on into the next row through at least one passage down
+        for (int c = 0; c < columns; c++){
+            sets[c] = find(sets[c]);
+            setHasDown[sets[c]] = false;
+        }
+        for (int c = 0; c < columns; c++){
+            down[c] = nextInt(2) == 0;
+            if(down[c]){
+                setHasDown[sets[c]] = true;
+            }
+        }
+        for (int c = 0; c < columns; c++){
+            if(!setHasDown[sets[c]]){
+                down[c] = true;
+                setHasDown[sets[c]] = true;
+            }
+        }
+
+        //Cells below a passage inherit its set. The rest start sets of their own, then every label is compacted
+        for (int i = 0; i < remap.length; i++){
+            remap[i] = -1;
+        }
+        int labels = 0;
+        for (int c = 0; c < columns; c++){
+            int label;
+            if(down[c]){
+                carve(base + c, Cell.Side.LEFT);
+                label = sets[c];
+            }else{
+                label = columns + c;
+            }
+            if(remap[label] == -1){
+                remap[label] = labels++;
+            }
+            sets[c] = remap[label];
+        }
+        return false;
+    }
+
+    /**
+     * Finds the root of a set label, halving the path as it goes
+     * @param label The set label
+     * @return The root label
+     */
+    private int find(int label){
+        while(parent[label] != label){
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+}
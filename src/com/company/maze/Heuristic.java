@@ -0,0 +1,39 @@
+package com.company.maze;
+
+/**
+ * Estimates the remaining distance from a cell to the goal for the A* pathfinder. Distances are in grid units,
+ * so an estimate that never overshoots the real number of moves keeps A* returning shortest paths.
+ */
+public interface Heuristic {
+
+    /**
+     * Manhattan taxicab distance. Admissible on a grid where each move is one step, so this is the default
+     */
+    Heuristic MANHATTAN = (row, column, goalRow, goalColumn) -> Math.abs(row - goalRow) + Math.abs(column - goalColumn);
+
+    /**
+     * Always 0, which turns A* into Dijkstra's algorithm
+     */
+    Heuristic ZERO = (row, column, goalRow, goalColumn) -> 0;
+
+    /**
+     * Estimates the distance from a cell to the goal
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param goalRow The row of the goal
+     * @param goalColumn The column of the goal
+     * @return The estimated number of moves to the goal
+     */
+    int estimate(int row, int column, int goalRow, int goalColumn);
+
+    /**
+     * Manhattan distance multiplied by a weight. Weights above 1 expand fewer nodes but may return a path
+     * that is not the shortest
+     * @param weight How much to scale the Manhattan distance by
+     * @return The weighted heuristic
+     */
+    static Heuristic weightedManhattan(double weight){
+        return (row, column, goalRow, goalColumn) ->
+                (int) Math.round(weight * MANHATTAN.estimate(row, column, goalRow, goalColumn));
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.maze;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many recorded values fall into each of a fixed set of ranges. Every power of two is split into eight
+ * ranges, so any percentile from nanoseconds to hours reads back within about 12%, and the histogram never grows.
+ * Any number of threads can record into it at once.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value
+     * @param value The value. Negative values are recorded as 0
+     */
+    public void record(long value){
+        value = Math.max(0, value);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Finds a value that a share of the recorded values are no bigger than
+     * @param quantile The share, from 0 to 1. 0.5 for the median, 0.99 for the 99th percentile
+     * @return The top of the range the value falls in, or 0 if nothing has been recorded
+     */
+    public long percentile(double quantile){
+        long total = count.sum();
+        if(total == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int b = 0; b < buckets.length(); b++){
+            seen += buckets.get(b);
+            if(seen >= rank){
+                return Math.min(max.get(), upperBound(b));
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Getter for the number of values recorded
+     * @return How many values have been recorded
+     */
+    public long getCount(){
+        return count.sum();
+    }
+
+    /**
+     * Finds the mean of the recorded values
+     * @return The mean, or 0 if nothing has been recorded
+     */
+    public double getMean(){
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Getter for the max variable
+     * @return The largest value recorded, or 0 if nothing has been recorded
+     */
+    public long getMax(){
+        return max.get();
+    }
+
+    /**
+     * Forgets every value recorded. Values recorded while resetting may be half forgotten
+     */
+    public void reset(){
+        for (int b = 0; b < buckets.length(); b++){
+            buckets.set(b, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Finds the range a value falls in. Values below eight get a range each
+     * @param value The value, at least 0
+     * @return The index of the range
+     */
+    private static int bucket(long value){
+        if(value < SUB_BUCKETS){
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Finds the largest value that falls in a range
+     * @param bucket The index of the range
+     * @return The largest value in it
+     */
+    private static long upperBound(int bucket){
+        if(bucket < SUB_BUCKETS){
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width - 1;
+    }
+}
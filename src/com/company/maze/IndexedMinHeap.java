@@ -0,0 +1,167 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices ordered by an int key. Remembers where every index sits in the heap, so
+ * contains is O(1) and lowering the key of an index already in the heap is O(log n).
+ */
+public class IndexedMinHeap {
+    private int[] heap;
+    private int[] keys;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Constructor for IndexedMinHeap objects.
+     * @param capacity One more than the largest index that will be stored
+     */
+    public IndexedMinHeap(int capacity){
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        heap = new int[16];
+        keys = new int[16];
+        size = 0;
+    }
+
+    /**
+     * Adds an index to the heap, or lowers its key if it is already in the heap with a larger key
+     * @param index The index to add
+     * @param key The key to order the index by
+     */
+    public void add(int index, int key){
+        int position = positions[index];
+        if(position == -1){
+            if(size == heap.length){
+                heap = Arrays.copyOf(heap, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            heap[size] = index;
+            keys[size] = key;
+            positions[index] = size;
+            siftUp(size++);
+        }else if(key < keys[position]){
+            keys[position] = key;
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Removes the index with the smallest key
+     * @return The index that was removed
+     */
+    public int poll(){
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    /**
+     * Getter for the index with the smallest key, without removing it
+     * @return The index with the smallest key
+     */
+    public int peek(){
+        return heap[0];
+    }
+
+    /**
+     * Getter for the smallest key in the heap
+     * @return The key of the index peek returns
+     */
+    public int peekKey(){
+        return keys[0];
+    }
+
+    /**
+     * Removes an index from the heap if it is in it
+     * @param index The index to remove
+     */
+    public void remove(int index){
+        int position = positions[index];
+        if(position != -1){
+            removeAt(position);
+        }
+    }
+
+    /**
+     * Determines if an index is in the heap
+     * @param index The index to look for
+     * @return true if the index is in the heap, false otherwise
+     */
+    public boolean contains(int index){
+        return positions[index] != -1;
+    }
+
+    /**
+     * Removes every index from the heap
+     */
+    public void clear(){
+        for (int i = 0; i < size; i++){
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Removes the entry at a position in the heap and restores the heap order
+     * @param position The position to remove
+     */
+    private void removeAt(int position){
+        positions[heap[position]] = -1;
+        size--;
+        if(position != size){
+            heap[position] = heap[size];
+            keys[position] = keys[size];
+            positions[heap[position]] = position;
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+
+    private void siftUp(int position){
+        while(position > 0){
+            int parent = (position - 1) >>> 1;
+            if(keys[parent] <= keys[position]){
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position){
+        while(true){
+            int child = 2 * position + 1;
+            if(child >= size){
+                break;
+            }
+            if(child + 1 < size && keys[child + 1] < keys[child]){
+                child++;
+            }
+            if(keys[position] <= keys[child]){
+                break;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int a, int b){
+        int index = heap[a];
+        heap[a] = heap[b];
+        heap[b] = index;
+        int key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        positions[heap[a]] = a;
+        positions[heap[b]] = b;
+    }
+}
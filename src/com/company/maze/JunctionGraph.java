@@ -0,0 +1,314 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * A* pathfinder that searches a contracted copy of the maze. Most cells of a generated maze are corridor cells with
+ * exactly two open sides, and there is only one way through a corridor, so the graph keeps just the junctions and
+ * dead ends as nodes and joins them with one edge per corridor, weighted by its length. Searches expand nodes
+ * instead of cells, and the cells of the path are only walked again when it is marked.
+ *
+ * A start or goal in the middle of a corridor is joined to the nodes at both ends of its corridor for the length
+ * of one search. Built from the grid as it is when the graph is constructed, so it must be built after the maze has
+ * been generated.
+ */
+public class JunctionGraph implements PathSolver {
+    private static final Cell.Side[] SIDES = Cell.Side.values();
+    //cameFrom value of a node reached straight from the start of the search
+    private static final int START = -1;
+
+    private final PackedGrid grid;
+    //nodeIds[cell] is the node a cell is, or -1 for a corridor cell. nodeCells[node] is the reverse
+    private final int[] nodeIds;
+    private final int[] nodeCells;
+    private final int nodeCount;
+    //The edge leaving node n through side s is at n * 4 + s.ordinal(). Missing edges have a target of -1
+    private final int[] edgeTargets;
+    private final int[] edgeWeights;
+
+    private final IndexedMinHeap openSet;
+    private final int[] gScores;
+    private final int[] cameFrom;
+    private final byte[] cameThrough;
+    private final int[] seen;
+    private final int[] closed;
+    private int epoch;
+    private Heuristic heuristic = Heuristic.MANHATTAN;
+
+    private int from = -1;
+    private int goal = -1;
+    //The node the search is looking for; one past the real nodes when the goal is a corridor cell
+    private int goalNode;
+    //The nodes at the ends of the goal's corridor, how far the goal is from each, and the side leading to it
+    private final int[] goalLinks = new int[2];
+    private final int[] goalLinkWeights = new int[2];
+    private final byte[] goalLinkSides = new byte[2];
+    private int goalLinkCount;
+    private boolean finished;
+    private boolean found;
+    private int nodesExpanded;
+    private int openSetPeak;
+
+    //Results of the last call to walk
+    private int walkLength;
+    private int walkLastSide;
+
+    /**
+     * Constructor for JunctionGraph objects. Walks every corridor of the maze once to build the graph
+     * @param grid The grid of a generated maze
+     */
+    public JunctionGraph(PackedGrid grid){
+        this.grid = grid;
+        nodeIds = new int[grid.size()];
+        int count = 0;
+        for (int i = 0; i < nodeIds.length; i++){
+            nodeIds[i] = openSides(i) == 2 ? -1 : count++;
+        }
+        nodeCount = count;
+        nodeCells = new int[nodeCount];
+        for (int i = 0; i < nodeIds.length; i++){
+            if(nodeIds[i] != -1){
+                nodeCells[nodeIds[i]] = i;
+            }
+        }
+
+        edgeTargets = new int[nodeCount * 4];
+        edgeWeights = new int[nodeCount * 4];
+        Arrays.fill(edgeTargets, -1);
+        for (int node = 0; node < nodeCount; node++){
+            int cell = nodeCells[node];
+            for (Cell.Side side : SIDES){
+                if(isOpen(cell, side)){
+                    int end = walk(cell, side.ordinal(), -1, false);
+                    edgeTargets[node * 4 + side.ordinal()] = nodeIds[end];
+                    edgeWeights[node * 4 + side.ordinal()] = walkLength;
+                }
+            }
+        }
+
+        //One extra slot for a goal in the middle of a corridor
+        openSet = new IndexedMinHeap(nodeCount + 1);
+        gScores = new int[nodeCount + 1];
+        cameFrom = new int[nodeCount + 1];
+        cameThrough = new byte[nodeCount + 1];
+        seen = new int[nodeCount + 1];
+        closed = new int[nodeCount + 1];
+    }
+
+    /**
+     * Getter for the nodeCount variable
+     * @return How many junctions and dead ends the graph has
+     */
+    public int getNodeCount(){
+        return nodeCount;
+    }
+
+    @Override
+    public void setHeuristic(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public void start(int from, int goal){
+        epoch++;
+        if(epoch == Integer.MAX_VALUE){
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            epoch = 1;
+        }
+        openSet.clear();
+        this.from = from;
+        this.goal = goal;
+        finished = false;
+        found = false;
+        nodesExpanded = 0;
+        openSetPeak = 0;
+
+        goalLinkCount = 0;
+        if(nodeIds[goal] != -1){
+            goalNode = nodeIds[goal];
+        }else{
+            goalNode = nodeCount;
+            for (Cell.Side side : SIDES){
+                if(isOpen(goal, side)){
+                    int end = walk(goal, side.ordinal(), -1, false);
+                    goalLinks[goalLinkCount] = nodeIds[end];
+                    goalLinkWeights[goalLinkCount] = walkLength;
+                    goalLinkSides[goalLinkCount] = (byte) SIDES[walkLastSide].opposite().ordinal();
+                    goalLinkCount++;
+                }
+            }
+        }
+
+        if(from == goal){
+            relax(goalNode, 0, START, 0);
+        }else if(nodeIds[from] != -1){
+            relax(nodeIds[from], 0, START, 0);
+        }else{
+            //Walk both ways out of the start's corridor, stopping early if the goal is in it
+            for (Cell.Side side : SIDES){
+                if(isOpen(from, side)){
+                    int end = walk(from, side.ordinal(), goal, false);
+                    relax(end == goal ? goalNode : nodeIds[end], walkLength, START, side.ordinal());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean step(){
+        if(finished){
+            return true;
+        }
+        if(openSet.isEmpty()){
+            finished = true;
+            return true;
+        }
+        int current = openSet.poll();
+        if(current == goalNode){
+            //We're done!
+            finished = true;
+            found = true;
+            return true;
+        }
+
+        closed[current] = epoch;
+        nodesExpanded++;
+        for (int s = 0; s < 4; s++){
+            int target = edgeTargets[current * 4 + s];
+            if(target != -1){
+                relax(target, gScores[current] + edgeWeights[current * 4 + s], current, s);
+            }
+        }
+        for (int i = 0; i < goalLinkCount; i++){
+            if(goalLinks[i] == current){
+                relax(goalNode, gScores[current] + goalLinkWeights[i], current, goalLinkSides[i]);
+            }
+        }
+        openSetPeak = Math.max(openSetPeak, openSet.size());
+        return false;
+    }
+
+    @Override
+    public int markPath(){
+        if(!found){
+            return -1;
+        }
+        int length = 0;
+        int node = goalNode;
+        while(true){
+            //Walk each edge of the path again from the node it left, out through the side it left by
+            int previous = cameFrom[node];
+            int origin = previous == START ? from : nodeCells[previous];
+            if(origin != cellOf(node)){
+                walk(origin, cameThrough[node], cellOf(node), true);
+                length += walkLength;
+            }
+            if(previous == START){
+                break;
+            }
+            node = previous;
+        }
+        return length;
+    }
+
+    @Override
+    public int getPathLength(){
+        return found ? gScores[goalNode] : -1;
+    }
+
+    @Override
+    public int getNodesExpanded(){
+        return nodesExpanded;
+    }
+
+    @Override
+    public int getOpenSetPeak(){
+        return openSetPeak;
+    }
+
+    /**
+     * Lowers the best known distance to a node if a shorter way to it was found
+     * @param node The node reached
+     * @param gScore The length of the way to it
+     * @param previous The node the way came from, or START
+     * @param side The ordinal of the side the way left the previous node through
+     */
+    private void relax(int node, int gScore, int previous, int side){
+        if(closed[node] == epoch){
+            return;
+        }
+        if(seen[node] != epoch || gScore < gScores[node]){
+            seen[node] = epoch;
+            gScores[node] = gScore;
+            cameFrom[node] = previous;
+            cameThrough[node] = (byte) side;
+            //f(x) = g(x) + h(x)
+            openSet.add(node, gScore + heuristic(cellOf(node)));
+        }
+    }
+
+    /**
+     * Follows a corridor from a cell until it reaches a node or a given cell
+     * @param index The index of the cell to start from
+     * @param side The ordinal of the side to leave the first cell through
+     * @param stop The index of a cell to stop at even if it is a corridor cell, or -1
+     * @param mark Whether to mark every cell walked into with the SOLUTION flag
+     * @return The index of the cell the walk ended on. walkLength and walkLastSide are set to how many moves it took
+     * and the ordinal of the side the last move went through
+     */
+    private int walk(int index, int side, int stop, boolean mark){
+        int previous = index;
+        int current = grid.neighbor(index, SIDES[side]);
+        int length = 1;
+        while(true){
+            if(mark){
+                grid.set(current, PackedGrid.SOLUTION, true);
+            }
+            if(current == stop || nodeIds[current] != -1){
+                break;
+            }
+            //A corridor cell has one way in and one way out
+            for (int s = 0; s < 4; s++){
+                int next = grid.neighbor(current, SIDES[s]);
+                if(next != previous && isOpen(current, SIDES[s])){
+                    side = s;
+                    break;
+                }
+            }
+            previous = current;
+            current = grid.neighbor(current, SIDES[side]);
+            length++;
+        }
+        walkLength = length;
+        walkLastSide = side;
+        return current;
+    }
+
+    private boolean isOpen(int index, Cell.Side side){
+        return !grid.hasWall(index, side) && grid.neighbor(index, side) != -1;
+    }
+
+    private int openSides(int index){
+        int count = 0;
+        for (Cell.Side side : SIDES){
+            if(isOpen(index, side)){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int cellOf(int node){
+        return node == nodeCount ? goal : nodeCells[node];
+    }
+
+    /**
+     * Calculates the h(x) of a cell for the current goal
+     * @param index The index of the cell being estimated
+     * @return The h(x)
+     */
+    private int heuristic(int index){
+        return heuristic.estimate(grid.row(index), grid.column(index), grid.row(goal), grid.column(goal));
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.maze;
+
+/**
+ * Randomized Kruskal's algorithm. Knocks down walls in a random order whenever the two cells are not yet
+ * connected, tracking connectivity with a union-find forest. Gives an even, short-corridor texture and uses
+ * about twelve bytes per cell. Each step carves one passage.
+ */
+public class KruskalGenerator extends CarvingGenerator {
+    private int[] edges;
+    private int edgeCount;
+    private int nextEdge;
+    private int[] parent;
+    private int remaining;
+
+    @Override
+    protected void begin(int startIndex){
+        if(grid.size() > Integer.MAX_VALUE / 2){
+            throw new IllegalArgumentException("Kruskal's algorithm cannot number the walls of a grid this large");
+        }
+        //Every wall is stored once, as the BOTTOM or LEFT side of the cell above or before it
+        edges = new int[2 * grid.size()];
+        edgeCount = 0;
+        for (int i = 0; i < grid.size(); i++){
+            if(grid.neighbor(i, Cell.Side.BOTTOM) != -1){
+                edges[edgeCount++] = i * 2;
+            }
+            if(grid.neighbor(i, Cell.Side.LEFT) != -1){
+                edges[edgeCount++] = i * 2 + 1;
+            }
+        }
+        nextEdge = 0;
+        parent = new int[grid.size()];
+        for (int i = 0; i < parent.length; i++){
+            parent[i] = i;
+        }
+        remaining = grid.size() - 1;
+    }
+
+    @Override
+    public boolean step(){
+        while(remaining > 0 && nextEdge < edgeCount){
+            //Shuffle lazily, picking a random wall from the ones not yet tried
+            int pick = nextEdge + nextInt(edgeCount - nextEdge);
+            int edge = edges[pick];
+            edges[pick] = edges[nextEdge];
+            edges[nextEdge++] = edge;
+
+            int index = edge >>> 1;
+            Cell.Side side = (edge & 1) == 0 ? Cell.Side.BOTTOM : Cell.Side.LEFT;
+            int a = find(index);
+            int b = find(grid.neighbor(index, side));
+            if(a != b){
+                parent[a] = b;
+                carve(index, side);
+                remaining--;
+                return remaining == 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the root of a cell's set, halving the path as it goes
+     * @param index The index of the cell
+     * @return The index of the set's root
+     */
+    private int find(int index){
+        while(parent[index] != index){
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+}
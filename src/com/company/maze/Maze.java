@@ -0,0 +1,637 @@
+package com.company.maze;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Maze {
+    private static final Cell.Side[] SIDES = Cell.Side.values();
+    //How many steps the deadline methods run between looks at the clock
+    private static final int STEPS_PER_CLOCK_CHECK = 64;
+
+    private PackedGrid grid;
+    private MazeGenerator generator = new RecursiveBacktracker();
+    private boolean generatorStarted;
+    private boolean generated;
+    private DistanceField distanceField;
+    private TreeIndex treeIndex;
+    private long seed;
+    private PathSolver solver;
+    private boolean solving;
+    private boolean solved;
+    private Heuristic heuristic = Heuristic.MANHATTAN;
+    private int solutionLength;
+    //Time spent inside batched generate and aStar calls, reported to MazeMetrics once each finishes. Single steps
+    //are not timed, as reading the clock costs more than a step
+    private long generateNanos;
+    private long solveNanos;
+    private boolean generationRecorded;
+    private boolean solveRecorded;
+    private int current;
+    private Cell start, end;
+
+    /**
+     * Constructor for Maze objects. Picks a random seed, which can be read back with getSeed
+     * @param size Forms a dim x dim sized maze
+     */
+    public Maze(int size) {
+        this(size, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for Maze objects. Mazes built with the same size, seed and generator are identical
+     * @param size Forms a dim x dim sized maze
+     * @param seed The seed for the random numbers used while generating
+     */
+    public Maze(int size, long seed) {
+        grid = new PackedGrid(size, size);
+        this.seed = seed;
+
+        resetMaze();
+
+        start = getCell(0, 0);
+        start.setVisited(true);
+        current = start.getIndex();
+
+        end = getCell(grid.getRows()-1, grid.getColumns()-1);
+        end.setEnd(true);
+
+    }
+
+    /**
+     * Constructor for Maze objects. Picks a random seed, which can be read back with getSeed
+     * @param size Forms a dim x dim sized maze
+     * @param start Cell from which the player starts. Only its row and column are used
+     */
+    public Maze(int size, Cell start) {
+        this(size, start, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for Maze objects. Mazes built with the same size, start, seed and generator are identical
+     * @param size Forms a dim x dim sized maze
+     * @param start Cell from which the player starts. Only its row and column are used
+     * @param seed The seed for the random numbers used while generating
+     */
+    public Maze(int size, Cell start, long seed) {
+        grid = new PackedGrid(size, size);
+        this.seed = seed;
+
+        resetMaze();
+
+        this.start = getCell(start.getRow(), start.getColumn());
+        this.start.setVisited(true);
+        current = this.start.getIndex();
+
+        end = getCell(grid.getRows()-1, grid.getColumns()-1);
+        end.setEnd(true);
+
+    }
+
+    /**
+     * Constructor for Maze objects that wraps an already generated grid, such as one loaded by MazeFile
+     * @param grid The generated grid. Used in place, not copied
+     * @param start The index of the cell the player starts on
+     * @param end The index of the end of the maze
+     * @param seed The seed the grid was generated from
+     */
+    Maze(PackedGrid grid, int start, int end, long seed){
+        this.grid = grid;
+        this.seed = seed;
+
+        resetMaze();
+        generatorStarted = true;
+        generated = true;
+        //Generated elsewhere, so there is no generation to report
+        generationRecorded = true;
+
+        this.start = getCell(grid.row(start), grid.column(start));
+        current = start;
+
+        this.end = getCell(grid.row(end), grid.column(end));
+        this.end.setEnd(true);
+    }
+
+    /**
+     * Generates a maze of size specified in the constructor
+     *
+     * @param visualize whether to visualize the process or not. If true, must be run in a draw method, and runs a
+     * single step that is not timed for MazeMetrics.
+     */
+    public boolean generate(boolean visualize){
+        //Maze generator
+        if(visualize){
+            return generate();
+        }
+        long begin = System.nanoTime();
+        while (!generate()){
+            //System.out.println("Gen ran returning : " + generate());
+        }
+        timeGeneration(begin);
+        return generated;
+    }
+
+    /**
+     * Runs up to a number of generation steps. Lets a draw loop animate generation faster than one step per frame
+     * @param steps The most steps to run
+     * @return Returns if the maze has finished generating
+     */
+    public boolean generate(int steps){
+        long begin = System.nanoTime();
+        for (int i = 0; i < steps && !generate(); i++){
+            //Keep stepping until the budget runs out
+        }
+        timeGeneration(begin);
+        return generated;
+    }
+
+    /**
+     * Runs generation steps until the maze is generated or a deadline passes. The clock is only read every few
+     * steps, so the deadline may be overrun by a few steps
+     * @param deadline The System.nanoTime value to stop at
+     * @return Returns if the maze has finished generating
+     */
+    public boolean generateUntil(long deadline){
+        do {
+            if(generate(STEPS_PER_CLOCK_CHECK)){
+                return true;
+            }
+        } while(System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    /**
+     * Getter for the number of rows in the grid
+     * @return The number of rows
+     */
+    public int getRows(){
+        return grid.getRows();
+    }
+
+    /**
+     * Getter for the number of columns in the grid
+     * @return The number of columns
+     */
+    public int getColumns(){
+        return grid.getColumns();
+    }
+
+    /**
+     * Getter for a specific cell in the maze
+     * @param y Y coordinate of the cell in the maze
+     * @param x X coordinate of the cell in the maze
+     * @return A Cell backed by the maze's PackedGrid
+     */
+    public Cell getCell(int y, int x){
+        return new Cell(grid, y, x);
+    }
+
+    /**
+     * Getter for the grid variable
+     * @return The PackedGrid holding every cell's walls and flags
+     */
+    public PackedGrid getGrid(){
+        return grid;
+    }
+
+    /**
+     * Sets the cell considered the start of the maze.
+     * @param start The Cell to be considered the start
+     */
+    public void setStart(Cell start){
+        this.start = start;
+        start.setPath(true);
+    }
+
+    /**
+     * Resets the properties of the cells in the grid. The next call to aStar starts a new solve, which costs
+     * nothing extra as the solver never needs clearing
+     */
+    public void resetGrid(){
+        grid.clear(PackedGrid.PATH);
+        solving = false;
+        solved = false;
+        solutionLength = 0;
+        solveNanos = 0;
+        solveRecorded = false;
+    }
+
+    /**
+     * Finds the coordinates of a cell in the grid
+     * @param cell the cell whose coordinates needs finding
+     * @return an int[] with the coordinate in the form of y, x
+     */
+    public int[] getCoordinates(Cell cell){
+        return new int[]{cell.getRow(), cell.getColumn()};
+    }
+    public Cell getStart(){
+        return start;
+    }
+    public Cell getEnd(){
+        return end;
+    }
+
+    public Cell up(Cell currentCell){
+        return move(currentCell, Cell.Side.TOP);
+    }
+    public Cell down(Cell currentCell){
+        return move(currentCell, Cell.Side.BOTTOM);
+    }
+    public Cell left(Cell currentCell){
+        return move(currentCell, Cell.Side.RIGHT);
+    }
+    public Cell right(Cell currentCell){
+        return move(currentCell, Cell.Side.LEFT);
+    }
+
+    /**
+     * Finds the cell adjacent to another cell on the given side. Follows the same side naming as
+     * findDirection, so the TOP/BOTTOM neighbors share a row and the LEFT/RIGHT neighbors share a column
+     * @param cell The cell whose neighbor needs to be found
+     * @param side The side of the cell the neighbor is on
+     * @return The neighboring Cell, or null if the side is on the edge of the grid
+     */
+    public Cell getNeighbor(Cell cell, Cell.Side side){
+        int y = cell.getRow();
+        int x = cell.getColumn();
+        switch (side){
+            case TOP:
+                return x > 0 ? getCell(y, x - 1) : null;
+            case BOTTOM:
+                return x < grid.getColumns() - 1 ? getCell(y, x + 1) : null;
+            case RIGHT:
+                return y > 0 ? getCell(y - 1, x) : null;
+            case LEFT:
+                return y < grid.getRows() - 1 ? getCell(y + 1, x) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the cell a player can move to from the current cell on the given side
+     * @param currentCell The cell being moved from
+     * @param side The side of the cell to move through
+     * @return The Cell moved to, or null if there is a wall or the edge of the grid in the way
+     */
+    private Cell move(Cell currentCell, Cell.Side side){
+        if(currentCell.getWall(side)){
+            return null;
+        }
+        return getNeighbor(currentCell, side);
+    }
+
+    /**
+     * Generates the maze. Needs to be inside a loop
+     * @return Returns if the maze has finished generating
+     */
+    private boolean generate(){
+        if(!generatorStarted){
+            generator.start(grid, current, new SplittableRandom(seed));
+            generatorStarted = true;
+        }
+        if(!generated){
+            generated = generator.step();
+        }
+        return generated;
+    }
+
+    /**
+     * Getter for the distance field to the end of the maze. Built by one search the first time it is asked for,
+     * after which solutions, hints and distances from any cell need no searching
+     * @return The DistanceField measuring every cell's distance to the end
+     */
+    public DistanceField getDistanceField(){
+        if(!generated){
+            throw new IllegalStateException("The maze has not finished generating");
+        }
+        if(distanceField == null){
+            distanceField = new DistanceField(grid, end.getIndex());
+        }
+        return distanceField;
+    }
+
+    /**
+     * Determines if the distance field has been built yet
+     * @return true if getDistanceField would return straight away, false if it would have to search the maze first
+     */
+    public boolean hasDistanceField(){
+        return distanceField != null;
+    }
+
+    /**
+     * Getter for the tree index of the maze. Built from the distance field the first time it is asked for, after
+     * which the distance and route between any two cells take O(log n) steps. Only valid for perfect mazes, which
+     * every MazeGenerator.Algorithm produces
+     * @return The TreeIndex for this maze
+     */
+    public TreeIndex getTreeIndex(){
+        if(treeIndex == null){
+            treeIndex = new TreeIndex(getDistanceField());
+        }
+        return treeIndex;
+    }
+
+    /**
+     * Finds how many moves apart two cells are, using the tree index
+     * @param a The first cell
+     * @param b The second cell
+     * @return The number of moves, or -1 if the cells are not connected
+     */
+    public int getDistance(Cell a, Cell b){
+        return getTreeIndex().distance(a.getIndex(), b.getIndex());
+    }
+
+    /**
+     * Marks the solution from a cell to the end using the distance field. Costs one step per cell on the solution
+     * @param from The cell to solve from
+     * @return How many moves the solution takes, or -1 if the cell cannot reach the end
+     */
+    public int solveFrom(Cell from){
+        solutionLength = getDistanceField().markPath(from.getIndex());
+        return solutionLength;
+    }
+
+    /**
+     * Finds the next step towards the end from a cell
+     * @param from The cell to step from
+     * @return The next Cell on the way to the end, or null if the cell is the end or cannot reach it
+     */
+    public Cell getHint(Cell from){
+        int next = getDistanceField().next(from.getIndex());
+        return next == -1 ? null : getCell(grid.row(next), grid.column(next));
+    }
+
+    /**
+     * Finds how many moves a cell is from the end
+     * @param from The cell to measure from
+     * @return The number of moves, or -1 if the cell cannot reach the end
+     */
+    public int getDistanceToEnd(Cell from){
+        return getDistanceField().distance(from.getIndex());
+    }
+
+    /**
+     * Estimates how far generation has got. Only meant for progress displays
+     * @return A number from 0 to 1, which is 1 once the maze is generated
+     */
+    public double getGenerationProgress(){
+        if(generated){
+            return 1;
+        }
+        return generatorStarted ? generator.getProgress() : 0;
+    }
+
+    /**
+     * Determines if the maze has finished generating
+     * @return true if every cell has been carved, false otherwise
+     */
+    public boolean isGenerated(){
+        return generated;
+    }
+
+    /**
+     * Getter for the seed variable
+     * @return The seed used to generate the maze
+     */
+    public long getSeed(){
+        return seed;
+    }
+
+    /**
+     * Sets the algorithm used to generate the maze. Must be called before generation starts
+     * @param generator The MazeGenerator to use. A RecursiveBacktracker by default
+     */
+    public void setGenerator(MazeGenerator generator){
+        this.generator = generator;
+    }
+
+    /**
+     * Runs the A* pathfinder algorithm.
+     * @param visualize Whether to visualize the algorithm. If true, needs to be run in the draw loop, and runs a
+     * single step that is not timed for MazeMetrics
+     * @return Returns whether the algorithm has finished. true if it has, false otherwise
+     */
+    public boolean aStar(boolean visualize){
+        if(visualize){
+            return aStar();
+        }
+        long begin = System.nanoTime();
+        boolean done = false;
+        while(!done){
+            done = aStar();
+        }
+        timeSolve(begin);
+        return done;
+    }
+
+    /**
+     * Runs up to a number of steps of the A* pathfinder algorithm. Lets a draw loop animate the search faster than
+     * one step per frame
+     * @param steps The most steps to run
+     * @return Returns whether the algorithm has finished. true if it has, false otherwise
+     */
+    public boolean aStar(int steps){
+        long begin = System.nanoTime();
+        for (int i = 0; i < steps && !aStar(); i++){
+            //Keep stepping until the budget runs out
+        }
+        timeSolve(begin);
+        return solved;
+    }
+
+    /**
+     * Runs steps of the A* pathfinder algorithm until it finishes or a deadline passes. The clock is only read every
+     * few steps, so the deadline may be overrun by a few steps
+     * @param deadline The System.nanoTime value to stop at
+     * @return Returns whether the algorithm has finished. true if it has, false otherwise
+     */
+    public boolean aStarUntil(long deadline){
+        do {
+            if(aStar(STEPS_PER_CLOCK_CHECK)){
+                return true;
+            }
+        } while(System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    /**
+     * Estimates how far the A* solve has got. The number of cells a solve will expand is not known in advance, so
+     * this is the share of the maze expanded so far, which is only reached if the whole maze is searched
+     * @return A number from 0 to 1, which is 1 once the solve has finished
+     */
+    public double getSolveProgress(){
+        if(solved){
+            return 1;
+        }
+        return Math.min(1, (double) getNodesExpanded() / grid.size());
+    }
+
+    /**
+     * Sets the heuristic A* uses to estimate the distance to the end. Must be called before the solve starts
+     * @param heuristic The Heuristic to use. Heuristic.MANHATTAN by default
+     */
+    public void setHeuristic(Heuristic heuristic){
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Getter for the nodesExpanded variable
+     * @return How many cells A* has taken off the open set so far
+     */
+    public int getNodesExpanded(){
+        return solver == null ? 0 : solver.getNodesExpanded();
+    }
+
+    /**
+     * Getter for the solutionLength variable
+     * @return How many moves the path A* found takes, or 0 if it has not finished
+     */
+    public int getSolutionLength(){
+        return solutionLength;
+    }
+
+    /**
+     * Getter for the solver variable. The solver can search between any two cells of the maze as many times as
+     * needed. It is the same solver aStar uses, so only start a search on it once aStar has finished
+     * @return The PathSolver for this maze. An AStarSolver, created the first time it is asked for, unless
+     * setSolver was called
+     */
+    public PathSolver getSolver(){
+        if(solver == null){
+            //Solver state is only allocated once a solve starts, so generating a maze never pays for it
+            solver = new AStarSolver(grid);
+        }
+        return solver;
+    }
+
+    /**
+     * Sets the solver aStar uses. Must be called before the solve starts, and the solver must have been made for
+     * this maze's grid. A JunctionGraph built after generation solves large mazes with far fewer expansions, and a
+     * BidirectionalSolver searches from both the start and the end until the searches meet
+     * @param solver The PathSolver to use. An AStarSolver by default
+     */
+    public void setSolver(PathSolver solver){
+        this.solver = solver;
+        solving = false;
+        solved = false;
+        solveNanos = 0;
+        solveRecorded = false;
+    }
+
+    /**
+     * Runs the A* pathfinder algorithm. Needs to be run in a loop
+     * @return Returns whether the algorithm has finished. true if it has, false otherwise
+     */
+    private boolean aStar(){
+        if(solved){
+            return true;
+        }
+        PathSolver solver = getSolver();
+        if(!solving){
+            solver.setHeuristic(heuristic);
+            solver.start(start.getIndex(), end.getIndex());
+            solving = true;
+        }
+        if(solver.step()){
+            solutionLength = Math.max(0, solver.markPath());
+            solved = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the time since a generate call began to the generation time, and reports the generation to MazeMetrics
+     * the first time it is seen to have finished
+     * @param begin The System.nanoTime value the call began at
+     */
+    private void timeGeneration(long begin){
+        generateNanos += System.nanoTime() - begin;
+        if(generated && !generationRecorded){
+            generationRecorded = true;
+            //A perfect maze takes one carve per cell but the first
+            MazeMetrics.get().recordGeneration(generator.getClass().getSimpleName(), grid.size() - 1, generateNanos);
+        }
+    }
+
+    /**
+     * Adds the time since an aStar call began to the solve time, and reports the solve to MazeMetrics the first
+     * time it is seen to have finished
+     * @param begin The System.nanoTime value the call began at
+     */
+    private void timeSolve(long begin){
+        solveNanos += System.nanoTime() - begin;
+        if(solved && !solveRecorded){
+            solveRecorded = true;
+            MazeMetrics.get().recordSolve(solver.getClass().getSimpleName(), solver.getNodesExpanded(),
+                    solver.getOpenSetPeak(), solver.getPathLength(), solveNanos);
+        }
+    }
+
+    /**
+     * Resets the grid entirely. Will need to be generated after running this method
+     */
+    private void resetMaze(){
+        generatorStarted = false;
+        generated = false;
+        distanceField = null;
+        treeIndex = null;
+        solver = null;
+        solving = false;
+        solved = false;
+        solutionLength = 0;
+        generateNanos = 0;
+        solveNanos = 0;
+        generationRecorded = false;
+        solveRecorded = false;
+    }
+
+    /**
+     * Finds the neighbors who can be moved to from the current cell. Used in A* and to check players movements
+     * @param cell The Cell whose neighbors need finding
+     * @return A Cell[] of available neighbors
+     */
+    public Cell[] getAvailableNeighbors(Cell cell){
+        ArrayList<Cell> available = new ArrayList<>(4);
+        for (Cell.Side side : SIDES){
+            Cell neighbor = move(cell, side);
+            if(neighbor != null){
+                available.add(neighbor);
+            }
+        }
+        return available.toArray(new Cell[available.size()]);
+    }
+
+    /**
+     * Finds the direction another cell is in relation to a first. For example if neighbor is above current,
+     * the method would return TOP
+     * @param current The current cell
+     * @param neighbor The neighbor, in which the direction from the current is being evaluated
+     * @return The direction the neighbor has in relation to the current cell.
+     */
+    public Cell.Side findDirection(Cell current, Cell neighbor) {
+        int side = current.getRow() - neighbor.getRow();
+        int up = current.getColumn() - neighbor.getColumn();
+
+        //{left, top, right, bottom}
+        if (up > 0) {
+            //Top
+            return Cell.Side.TOP;
+        }
+        if (up < 0) {
+            //bottom
+            return Cell.Side.BOTTOM;
+        }
+        if (side > 0) {
+            //right
+            return Cell.Side.RIGHT;
+        }
+        if (side < 0) {
+            //left
+            return Cell.Side.LEFT;
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.company.maze;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates and solves many mazes at once. Every seed in a range becomes its own headless Maze, and the mazes are
+ * spread over a work-stealing ForkJoinPool, so throughput grows with the number of cores. Each maze is thrown away
+ * as soon as its MazeResult has been handed out, so memory stays at one maze per worker.
+ */
+public class MazeBatch {
+    private final int size;
+    private final MazeGenerator.Algorithm algorithm;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor for MazeBatch objects. Runs on the common ForkJoinPool, which has one worker per core
+     * @param size Every maze is size x size cells
+     * @param algorithm The algorithm that generates every maze
+     */
+    public MazeBatch(int size, MazeGenerator.Algorithm algorithm){
+        this(size, algorithm, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for MazeBatch objects.
+     * @param size Every maze is size x size cells
+     * @param algorithm The algorithm that generates every maze
+     * @param pool The pool the mazes are generated and solved in
+     */
+    public MazeBatch(int size, MazeGenerator.Algorithm algorithm, ForkJoinPool pool){
+        this.size = size;
+        this.algorithm = algorithm;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates and solves the mazes for a range of seeds, handing each result to a consumer as soon as it is ready.
+     * Blocks until every maze is done
+     * @param firstSeed The seed of the first maze
+     * @param count How many mazes to make. The seeds run from firstSeed to firstSeed + count - 1
+     * @param consumer Receives every result. Called from several threads at once, in no particular order
+     * @throws CancellationException If the calling thread is interrupted while waiting, in which case the consumer
+     * may have seen only some of the results. The thread's interrupt flag is left set
+     */
+    public void run(long firstSeed, int count, Consumer<MazeResult> consumer){
+        Future<?> batch = pool.submit(() -> stream(firstSeed, count).forEach(consumer));
+        try {
+            batch.get();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            batch.cancel(true);
+            CancellationException cancelled = new CancellationException("Batch at size " + size + " with "
+                    + algorithm + " was interrupted");
+            cancelled.initCause(e);
+            throw cancelled;
+        }catch (ExecutionException e){
+            throw new IllegalStateException("Batch failed at size " + size + " with " + algorithm, e.getCause());
+        }
+    }
+
+    /**
+     * Lazily generates and solves the mazes for a range of seeds. The stream is parallel, and runs in whichever
+     * ForkJoinPool the terminal operation is called from
+     * @param firstSeed The seed of the first maze
+     * @param count How many mazes to make. The seeds run from firstSeed to firstSeed + count - 1
+     * @return A parallel Stream of results
+     */
+    public Stream<MazeResult> stream(long firstSeed, int count){
+        return LongStream.range(firstSeed, firstSeed + count).parallel().mapToObj(this::solve);
+    }
+
+    /**
+     * Generates and solves the maze for one seed
+     * @param seed The seed of the maze
+     * @return What was found out about the maze
+     */
+    public MazeResult solve(long seed){
+        Maze maze = new Maze(size, seed);
+        maze.setGenerator(algorithm.create());
+
+        long start = System.nanoTime();
+        maze.generate(false);
+        long generated = System.nanoTime();
+        maze.aStar(false);
+        long solved = System.nanoTime();
+
+        return new MazeResult(seed, size, algorithm, maze.getSolutionLength(), maze.getNodesExpanded(),
+                generated - start, solved - generated);
+    }
+}
@@ -0,0 +1,165 @@
+package com.company.maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves generated mazes to files and opens them again. A file is a 64 byte header followed by one byte per cell,
+ * laid out exactly like a PackedGrid with every flag cleared, so loading maps the file into memory and uses it as
+ * the grid in place. Opening even the largest maze costs the same few milliseconds, and cells are only read from
+ * disk as they are touched. The mapping is private, so flags set while playing never reach the file.
+ *
+ * Header, big-endian: the magic number "MAZE", the format version, rows, columns, the start index, the end index
+ * and the seed, padded with zeroes to 64 bytes.
+ */
+public class MazeFile {
+    public static final int VERSION = 1;
+    private static final int MAGIC = 0x4D415A45;
+    private static final int HEADER_SIZE = 64;
+    //How many cells are copied at a time while saving
+    private static final int CHUNK = 1 << 16;
+
+    private MazeFile(){
+    }
+
+    /**
+     * Writes a generated maze to a file, replacing anything already there. Cells are streamed out of the grid a
+     * chunk at a time, so saving needs no second copy of the maze
+     * @param maze The maze to save
+     * @param path The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(Maze maze, Path path) throws IOException{
+        if(!maze.isGenerated()){
+            throw new IllegalStateException("The maze has not finished generating");
+        }
+        PackedGrid grid = maze.getGrid();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(grid.getRows());
+            header.putInt(grid.getColumns());
+            header.putInt(maze.getStart().getIndex());
+            header.putInt(maze.getEnd().getIndex());
+            header.putLong(maze.getSeed());
+            header.position(HEADER_SIZE);
+            header.flip();
+            writeFully(channel, header);
+
+            ByteBuffer chunk = ByteBuffer.allocate(Math.min(CHUNK, grid.size()));
+            for (int index = 0; index < grid.size(); index += chunk.capacity()){
+                chunk.clear();
+                chunk.limit(Math.min(chunk.capacity(), grid.size() - index));
+                grid.getWalls(index, chunk);
+                chunk.flip();
+                writeFully(channel, chunk);
+            }
+        }
+    }
+
+    /**
+     * Opens a maze saved by save. The grid is the file itself, mapped into memory, so nothing is read or copied up
+     * front. Files that cannot be opened for writing are copied onto the heap instead, as a private mapping needs
+     * write access even though it never writes
+     * @param path The file to open
+     * @return The generated Maze, with the start, end and seed it was saved with
+     * @throws IOException If the file cannot be read or is not a maze file this version understands
+     */
+    public static Maze load(Path path) throws IOException{
+        FileChannel channel;
+        boolean writable = true;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }catch (AccessDeniedException e){
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            writable = false;
+        }
+        try {
+            if(channel.size() < HEADER_SIZE){
+                throw new IOException(path + " is not a maze file");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while(header.hasRemaining() && channel.read(header, header.position()) != -1){
+                //Keep reading until the header is full
+            }
+            header.flip();
+            if(header.getInt() != MAGIC){
+                throw new IOException(path + " is not a maze file");
+            }
+            int version = header.getInt();
+            if(version != VERSION){
+                throw new IOException(path + " is version " + version + ", only version " + VERSION + " can be read");
+            }
+            int rows = header.getInt();
+            int columns = header.getInt();
+            int start = header.getInt();
+            int end = header.getInt();
+            long seed = header.getLong();
+
+            long cells = (long) rows * columns;
+            if(rows <= 0 || columns <= 0 || channel.size() < HEADER_SIZE + cells
+                    || start < 0 || start >= cells || end < 0 || end >= cells){
+                throw new IOException(path + " is damaged or truncated");
+            }
+            if(cells > Integer.MAX_VALUE - HEADER_SIZE){
+                throw new IOException(path + " holds " + cells + " cells, more than one grid can map");
+            }
+
+            ByteBuffer bytes;
+            if(writable){
+                bytes = channel.map(FileChannel.MapMode.PRIVATE, HEADER_SIZE, cells);
+            }else{
+                bytes = ByteBuffer.allocate((int) cells);
+                while(bytes.hasRemaining() && channel.read(bytes, HEADER_SIZE + bytes.position()) != -1){
+                    //Keep reading until every cell is in
+                }
+                bytes.flip();
+            }
+            return new Maze(new PackedGrid(rows, columns, bytes), start, end, seed);
+        }finally {
+            //The mapping stays valid after the channel is closed
+            channel.close();
+        }
+    }
+
+    /**
+     * Generates a maze and saves it, so libraries of large mazes can be made ahead of time.
+     * Usage: MazeFile file size [seed]
+     * @param args The file to write, the size of the maze and optionally its seed
+     * @throws IOException If the file cannot be written
+     */
+    public static void main(String[] args) throws IOException{
+        if(args.length < 2){
+            System.err.println("Usage: MazeFile file size [seed]");
+            System.exit(1);
+        }
+        int size = Integer.parseInt(args[1]);
+        Maze maze = args.length > 2 ? new Maze(size, Long.parseLong(args[2])) : new Maze(size);
+        long start = System.nanoTime();
+        maze.generate(false);
+        long generated = System.nanoTime();
+        save(maze, Paths.get(args[0]));
+        long saved = System.nanoTime();
+        System.out.println("size : " + size + " seed : " + maze.getSeed() + " generate : "
+                + (generated - start) / 1000000 + "ms save : " + (saved - generated) / 1000000 + "ms");
+    }
+
+    /**
+     * Writes everything left in a buffer to a channel
+     * @param channel The channel to write to
+     * @param buffer The bytes to write
+     * @throws IOException If the write fails
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException{
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.maze;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Strategy for carving a perfect maze out of a PackedGrid. Generators are stepped until they report they are
+ * done, so Maze can run them either one step per frame or all at once. A generator's output depends only on the
+ * grid size, the start and the random numbers it is given.
+ */
+public interface MazeGenerator {
+
+    /**
+     * The generators that come with the maze engine
+     */
+    enum Algorithm {
+        RECURSIVE_BACKTRACKER(RecursiveBacktracker::new),
+        ELLER(EllerGenerator::new),
+        KRUSKAL(KruskalGenerator::new),
+        PRIM(PrimGenerator::new),
+        WILSON(WilsonGenerator::new),
+        BINARY_TREE(BinaryTreeGenerator::new);
+
+        private final Supplier<MazeGenerator> factory;
+
+        Algorithm(Supplier<MazeGenerator> factory){
+            this.factory = factory;
+        }
+
+        /**
+         * Creates a new, unstarted generator running this algorithm
+         * @return The generator
+         */
+        public MazeGenerator create(){
+            return factory.get();
+        }
+    }
+
+    /**
+     * Prepares the generator to carve a grid. Must be called once before the first step
+     * @param grid The grid to carve. Every cell should still have all four walls
+     * @param startIndex The index of the cell generation starts from
+     * @param random The source of every random choice the generator makes. Only used by this generator
+     */
+    void start(PackedGrid grid, int startIndex, SplittableRandom random);
+
+    /**
+     * Runs one step of the algorithm
+     * @return true once every cell has been connected, false otherwise
+     */
+    boolean step();
+
+    /**
+     * Estimates how much of the grid has been carved so far. Only meant for progress displays
+     * @return A number from 0 to 1
+     */
+    default double getProgress(){
+        return 0;
+    }
+}
@@ -0,0 +1,229 @@
+package com.company.maze;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for everything the program spends time on: generating, solving, drawing frames
+ * and answering input. Maze, ChunkedMaze and TiledMaze record into the shared instance on their own; frames and
+ * input are recorded by whatever draws them. Recording is a few atomic adds, cheap enough to leave on everywhere,
+ * and safe from any thread. Listeners hear about each measurement as it is made, which is how they reach
+ * Flight Recorder.
+ */
+public class MazeMetrics {
+    private static final MazeMetrics GLOBAL = new MazeMetrics();
+
+    private final LongAdder mazesGenerated = new LongAdder();
+    private final LongAdder cellsCarved = new LongAdder();
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final AtomicInteger openSetPeak = new AtomicInteger();
+    private final Histogram generationTime = new Histogram();
+    private final Histogram solveTime = new Histogram();
+    private final Histogram inputLatency = new Histogram();
+    private final Map<String, Histogram> frameTimes = new ConcurrentHashMap<>();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private boolean flightRecorder;
+
+    /**
+     * Getter for the shared instance everything records into
+     * @return The shared MazeMetrics
+     */
+    public static MazeMetrics get(){
+        return GLOBAL;
+    }
+
+    /**
+     * Records a finished generation
+     * @param algorithm The name of the generator
+     * @param cellsCarved How many passages were carved
+     * @param nanos How long the generator ran for
+     */
+    public void recordGeneration(String algorithm, long cellsCarved, long nanos){
+        mazesGenerated.increment();
+        this.cellsCarved.add(cellsCarved);
+        generationTime.record(nanos);
+        for (MetricsListener listener : listeners){
+            listener.generated(algorithm, cellsCarved, nanos);
+        }
+    }
+
+    /**
+     * Records a finished solve
+     * @param solver The name of the solver
+     * @param nodesExpanded How many nodes the search took off its open set
+     * @param openSetPeak The most nodes its open set held at once, or -1 if the solver does not track it
+     * @param pathLength How many moves the path found takes, or -1 if there is none
+     * @param nanos How long the solver ran for
+     */
+    public void recordSolve(String solver, int nodesExpanded, int openSetPeak, int pathLength, long nanos){
+        solves.increment();
+        this.nodesExpanded.add(nodesExpanded);
+        this.openSetPeak.accumulateAndGet(openSetPeak, Math::max);
+        solveTime.record(nanos);
+        for (MetricsListener listener : listeners){
+            listener.solved(solver, nodesExpanded, openSetPeak, pathLength, nanos);
+        }
+    }
+
+    /**
+     * Records how long a frame took to draw
+     * @param state The name of the state the program was in, so each state gets its own histogram
+     * @param nanos How long drawing the frame took
+     */
+    public void recordFrame(String state, long nanos){
+        frameTimes.computeIfAbsent(state, name -> new Histogram()).record(nanos);
+        for (MetricsListener listener : listeners){
+            listener.frame(state, nanos);
+        }
+    }
+
+    /**
+     * Records how long some input took to show up on screen
+     * @param latencyNanos How long it was from the input happening to the frame showing it being drawn
+     */
+    public void recordInput(long latencyNanos){
+        inputLatency.record(latencyNanos);
+        for (MetricsListener listener : listeners){
+            listener.input(latencyNanos);
+        }
+    }
+
+    /**
+     * Adds a listener to hear about every measurement from now on
+     * @param listener The listener to add
+     */
+    public void addListener(MetricsListener listener){
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added by addListener
+     * @param listener The listener to remove
+     */
+    public void removeListener(MetricsListener listener){
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts sending every measurement to JDK Flight Recorder as custom events, which appear under Maze in any
+     * recording. Needs Java 11 or later; on older runtimes nothing happens. Only does anything the first time
+     * @return true if the events are being sent, false if Flight Recorder is not available
+     */
+    public synchronized boolean enableFlightRecorder(){
+        if(!flightRecorder){
+            try {
+                Class.forName("jdk.jfr.Event");
+                //Loaded by name, as it is built for Java 11 and the rest of the engine for Java 8
+                Class<?> type = Class.forName("com.company.maze.jfr.FlightRecorderListener");
+                addListener((MetricsListener) type.getDeclaredConstructor().newInstance());
+                flightRecorder = true;
+            }catch (ReflectiveOperationException | LinkageError e){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every measurement, keeping the listeners
+     */
+    public void reset(){
+        mazesGenerated.reset();
+        cellsCarved.reset();
+        solves.reset();
+        nodesExpanded.reset();
+        openSetPeak.set(0);
+        generationTime.reset();
+        solveTime.reset();
+        inputLatency.reset();
+        frameTimes.clear();
+    }
+
+    /**
+     * Getter for the mazesGenerated variable
+     * @return How many mazes, chunks and tiles have finished generating
+     */
+    public long getMazesGenerated(){
+        return mazesGenerated.sum();
+    }
+
+    /**
+     * Getter for the cellsCarved variable
+     * @return How many passages every generation together has carved
+     */
+    public long getCellsCarved(){
+        return cellsCarved.sum();
+    }
+
+    /**
+     * Getter for the solves variable
+     * @return How many solves have finished
+     */
+    public long getSolves(){
+        return solves.sum();
+    }
+
+    /**
+     * Getter for the nodesExpanded variable
+     * @return How many nodes every solve together has expanded
+     */
+    public long getNodesExpanded(){
+        return nodesExpanded.sum();
+    }
+
+    /**
+     * Getter for the openSetPeak variable
+     * @return The most nodes any one solve's open set has held at once
+     */
+    public int getOpenSetPeak(){
+        return openSetPeak.get();
+    }
+
+    /**
+     * Getter for the generationTime variable
+     * @return How long each generation took, in nanoseconds
+     */
+    public Histogram getGenerationTime(){
+        return generationTime;
+    }
+
+    /**
+     * Getter for the solveTime variable
+     * @return How long each solve took, in nanoseconds
+     */
+    public Histogram getSolveTime(){
+        return solveTime;
+    }
+
+    /**
+     * Getter for the inputLatency variable
+     * @return How long each input took to show up on screen, in nanoseconds
+     */
+    public Histogram getInputLatency(){
+        return inputLatency;
+    }
+
+    /**
+     * Getter for the frame time histogram of one state
+     * @param state The name of the state
+     * @return How long each frame drawn in the state took, in nanoseconds, or null if none has been recorded
+     */
+    public Histogram getFrameTime(String state){
+        return frameTimes.get(state);
+    }
+
+    /**
+     * Getter for every frame time histogram
+     * @return The histograms by state name, in alphabetical order. Does not change as more frames are recorded
+     */
+    public Map<String, Histogram> getFrameTimes(){
+        return Collections.unmodifiableMap(new TreeMap<>(frameTimes));
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.maze;
+
+/**
+ * What a batch run found out about one generated and solved maze
+ */
+public class MazeResult {
+    private final long seed;
+    private final int size;
+    private final MazeGenerator.Algorithm algorithm;
+    private final int solutionLength;
+    private final int nodesExpanded;
+    private final long generateNanos;
+    private final long solveNanos;
+
+    /**
+     * Constructor for MazeResult objects.
+     * @param seed The seed the maze was generated from
+     * @param size The maze was size x size cells
+     * @param algorithm The algorithm that generated the maze
+     * @param solutionLength How many moves the solution takes
+     * @param nodesExpanded How many cells A* expanded to find the solution
+     * @param generateNanos How long generating took, in nanoseconds
+     * @param solveNanos How long solving took, in nanoseconds
+     */
+    public MazeResult(long seed, int size, MazeGenerator.Algorithm algorithm, int solutionLength,
+                      int nodesExpanded, long generateNanos, long solveNanos){
+        this.seed = seed;
+        this.size = size;
+        this.algorithm = algorithm;
+        this.solutionLength = solutionLength;
+        this.nodesExpanded = nodesExpanded;
+        this.generateNanos = generateNanos;
+        this.solveNanos = solveNanos;
+    }
+
+    public long getSeed(){
+        return seed;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public MazeGenerator.Algorithm getAlgorithm(){
+        return algorithm;
+    }
+
+    public int getSolutionLength(){
+        return solutionLength;
+    }
+
+    public int getNodesExpanded(){
+        return nodesExpanded;
+    }
+
+    public long getGenerateNanos(){
+        return generateNanos;
+    }
+
+    public long getSolveNanos(){
+        return solveNanos;
+    }
+
+    @Override
+    public String toString(){
+        return algorithm + " size : " + size + " seed : " + seed + " solution : " + solutionLength
+                + " expanded : " + nodesExpanded + " generate : " + generateNanos / 1000 + "us"
+                + " solve : " + solveNanos / 1000 + "us";
+    }
+}
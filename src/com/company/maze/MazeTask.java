@@ -0,0 +1,136 @@
+package com.company.maze;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Generates or solves a Maze on another thread, so a window can keep drawing while it works. The caller polls
+ * isDone and getProgress from its own loop instead of waiting. The maze must not be read or changed by anyone else
+ * until the task is done; once isDone returns true every change the task made is visible to the caller.
+ */
+public class MazeTask {
+    //How many steps run in each batch, between progress updates
+    private static final int CHECK_EVERY = 4096;
+
+    private final Future<?> future;
+    private volatile double progress;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor for MazeTask objects. Starts stepping straight away
+     * @param executor The executor to run on
+     * @param before Run on the worker thread before the first step. May be null
+     * @param step Runs a batch of steps of the work, returning true once it is finished
+     * @param estimate Estimates how far the work has got, from 0 to 1. Only called from the worker thread
+     * @param after Run on the worker thread once every step has finished, unless cancelled first. May be null
+     */
+    private MazeTask(ExecutorService executor, Runnable before, BooleanSupplier step, DoubleSupplier estimate,
+                     Runnable after){
+        future = executor.submit(() -> {
+            if(before != null){
+                before.run();
+            }
+            while(!cancelled && !step.getAsBoolean()){
+                progress = estimate.getAsDouble();
+            }
+            if(!cancelled && after != null){
+                after.run();
+            }
+            progress = 1;
+        });
+    }
+
+    /**
+     * Generates a maze in the background, then builds its distance field so hints and solutions are ready the
+     * moment the task is done
+     * @param maze The maze to generate. Must not have been generated yet
+     * @param executor The executor to run on
+     * @return The running task
+     */
+    public static MazeTask generate(Maze maze, ExecutorService executor){
+        return new MazeTask(executor, null, () -> maze.generate(CHECK_EVERY), maze::getGenerationProgress,
+                maze::getDistanceField);
+    }
+
+    /**
+     * Builds the distance field of a maze that is already generated, such as one loaded from a file, so hints and
+     * solutions are ready the moment the task is done
+     * @param maze The maze to prepare
+     * @param executor The executor to run on
+     * @return The running task
+     */
+    public static MazeTask prepare(Maze maze, ExecutorService executor){
+        return new MazeTask(executor, null, () -> true, () -> 1, maze::getDistanceField);
+    }
+
+    /**
+     * Solves a generated maze from its start to its end in the background, as aStar(false) would
+     * @param maze The maze to solve
+     * @param solver Makes the PathSolver to use from the maze's grid, on the worker thread so that building it does
+     * not hold up the caller either. null to keep the maze's own solver
+     * @param executor The executor to run on
+     * @return The running task
+     */
+    public static MazeTask solve(Maze maze, Function<PackedGrid, PathSolver> solver, ExecutorService executor){
+        Runnable prepare = solver == null ? null : () -> maze.setSolver(solver.apply(maze.getGrid()));
+        return new MazeTask(executor, prepare, () -> maze.aStar(CHECK_EVERY), maze::getSolveProgress, null);
+    }
+
+    /**
+     * Asks the task to stop. It stops before its next batch of steps, leaving the maze half generated or half solved,
+     * so the maze should be thrown away
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * Determines if the task has stopped, because it finished, was cancelled or failed
+     * @return true if the task has stopped, false otherwise
+     */
+    public boolean isDone(){
+        return future.isDone();
+    }
+
+    /**
+     * Getter for the cancelled variable
+     * @return true if cancel has been called, false otherwise
+     */
+    public boolean isCancelled(){
+        return cancelled;
+    }
+
+    /**
+     * Getter for the progress variable. Updated every few thousand steps
+     * @return Roughly how far the task has got, from 0 to 1
+     */
+    public double getProgress(){
+        return progress;
+    }
+
+    /**
+     * Finds out why the task failed
+     * @return What the task threw, or null if it has not stopped or did not fail
+     */
+    public Throwable getFailure(){
+        if(!future.isDone()){
+            return null;
+        }
+        try {
+            future.get();
+            return null;
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return null;
+        }catch (CancellationException e){
+            return null;
+        }catch (ExecutionException e){
+            return e.getCause();
+        }
+    }
+}
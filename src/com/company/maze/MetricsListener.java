@@ -0,0 +1,43 @@
+package com.company.maze;
+
+/**
+ * Hears about every measurement MazeMetrics records, as it is recorded, so the measurements can be passed on to a
+ * profiler or a log. Called from whichever thread did the work, so implementations must be thread safe and quick.
+ */
+public interface MetricsListener {
+
+    /**
+     * Called when a maze or a piece of one finishes generating
+     * @param algorithm The name of the generator
+     * @param cellsCarved How many passages were carved
+     * @param nanos How long the generator ran for, not counting time between steps
+     */
+    default void generated(String algorithm, long cellsCarved, long nanos){
+    }
+
+    /**
+     * Called when a solve finishes
+     * @param solver The name of the solver
+     * @param nodesExpanded How many nodes the search took off its open set
+     * @param openSetPeak The most nodes its open set held at once, or -1 if the solver does not track it
+     * @param pathLength How many moves the path found takes, or -1 if there is none
+     * @param nanos How long the solver ran for, not counting time between steps
+     */
+    default void solved(String solver, int nodesExpanded, int openSetPeak, int pathLength, long nanos){
+    }
+
+    /**
+     * Called when a frame has been drawn
+     * @param state The name of the state the program was in
+     * @param nanos How long drawing the frame took
+     */
+    default void frame(String state, long nanos){
+    }
+
+    /**
+     * Called when the first frame after some input has been drawn
+     * @param latencyNanos How long it was from the input happening to the frame showing it being drawn
+     */
+    default void input(long latencyNanos){
+    }
+}
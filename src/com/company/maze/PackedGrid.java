@@ -0,0 +1,307 @@
+package com.company.maze;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact storage for the cells of a maze. Every cell is a single byte: the low four bits are its walls
+ * (one bit per Cell.Side) and the high four bits are its visited, path, solution and end flags.
+ * Cells are stored row by row, so the cell at (row, column) lives at row * columns + column. The bytes normally live
+ * in a byte array on the heap. A grid can instead be backed by a ByteBuffer, such as a memory-mapped file, so a saved
+ * maze can be used in place.
+ */
+public class PackedGrid {
+    public static final int WALLS = 0x0F;
+    public static final int VISITED = 0x10;
+    public static final int PATH = 0x20;
+    public static final int SOLUTION = 0x40;
+    public static final int END = 0x80;
+
+    //Heap grids use the array directly, which is measurably faster; mapped grids go through the buffer
+    private final byte[] cells;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int rows;
+    private final int columns;
+    private BitSet changed;
+    private int[] changes;
+    private int changeCount;
+    private boolean overflowed;
+
+    /**
+     * Constructor for PackedGrid objects. Every cell starts with all four walls and no flags set
+     * @param rows The number of rows in the grid
+     * @param columns The number of columns in the grid
+     */
+    public PackedGrid(int rows, int columns){
+        long count = (long) rows * columns;
+        if(rows <= 0 || columns <= 0 || count > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("Cannot store a " + rows + " x " + columns + " grid");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        size = (int) count;
+        cells = new byte[size];
+        Arrays.fill(cells, (byte) WALLS);
+        buffer = null;
+    }
+
+    /**
+     * Constructor for PackedGrid objects that uses existing cell bytes in place rather than copying them
+     * @param rows The number of rows in the grid
+     * @param columns The number of columns in the grid
+     * @param cells One byte per cell, row by row, from the buffer's position on. Changes to the grid are written
+     * straight to it
+     */
+    public PackedGrid(int rows, int columns, ByteBuffer cells){
+        long count = (long) rows * columns;
+        if(rows <= 0 || columns <= 0 || count > cells.remaining()){
+            throw new IllegalArgumentException("Cannot store a " + rows + " x " + columns + " grid in "
+                    + cells.remaining() + " bytes");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        size = (int) count;
+        this.cells = null;
+        buffer = cells.slice();
+    }
+
+    /**
+     * Finds the index of a cell in the grid
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @return The index of the cell
+     */
+    public int index(int row, int column){
+        return row * columns + column;
+    }
+
+    /**
+     * Finds the row of a cell from its index
+     * @param index The index of the cell
+     * @return The row of the cell
+     */
+    public int row(int index){
+        return index / columns;
+    }
+
+    /**
+     * Finds the column of a cell from its index
+     * @param index The index of the cell
+     * @return The column of the cell
+     */
+    public int column(int index){
+        return index % columns;
+    }
+
+    /**
+     * Finds the index of the cell next to another. Uses the same side naming as Maze.findDirection, so the
+     * TOP/BOTTOM neighbors share a row and the LEFT/RIGHT neighbors share a column
+     * @param index The index of the cell
+     * @param side The side the neighbor is on
+     * @return The index of the neighbor, or -1 if the side is on the edge of the grid
+     */
+    public int neighbor(int index, Cell.Side side){
+        switch (side){
+            case TOP:
+                return index % columns > 0 ? index - 1 : -1;
+            case BOTTOM:
+                return index % columns < columns - 1 ? index + 1 : -1;
+            case RIGHT:
+                return index >= columns ? index - columns : -1;
+            case LEFT:
+                return index < size - columns ? index + columns : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Determines if there is a wall on a side of a cell
+     * @param index The index of the cell
+     * @param side The side to check
+     * @return true if the side has a wall, false otherwise
+     */
+    public boolean hasWall(int index, Cell.Side side){
+        return (get(index) & wallBit(side)) != 0;
+    }
+
+    /**
+     * Removes a wall from a side of a cell. Only affects this cell, not the neighbor sharing the wall
+     * @param index The index of the cell
+     * @param side The side to remove the wall from
+     */
+    public void removeWall(int index, Cell.Side side){
+        byte cell = get(index);
+        if((cell & wallBit(side)) != 0){
+            put(index, (byte) (cell & ~wallBit(side)));
+            changed(index);
+        }
+    }
+
+    /**
+     * Getter for all four wall bits of a cell
+     * @param index The index of the cell
+     * @return The wall bits, one per Cell.Side ordinal
+     */
+    public int getWalls(int index){
+        return get(index) & WALLS;
+    }
+
+    /**
+     * Determines if a flag is set on a cell
+     * @param index The index of the cell
+     * @param flag One of VISITED, PATH, SOLUTION or END
+     * @return true if the flag is set, false otherwise
+     */
+    public boolean isSet(int index, int flag){
+        return (get(index) & flag) != 0;
+    }
+
+    /**
+     * Sets or clears a flag on a cell
+     * @param index The index of the cell
+     * @param flag One of VISITED, PATH, SOLUTION or END
+     * @param value Whether the flag should be set
+     */
+    public void set(int index, int flag, boolean value){
+        byte old = get(index);
+        byte cell = (byte) (value ? old | flag : old & ~flag);
+        if(cell != old){
+            put(index, cell);
+            changed(index);
+        }
+    }
+
+    /**
+     * Clears a flag on every cell in the grid
+     * @param flag The flags to clear
+     */
+    public void clear(int flag){
+        for (int i = 0; i < size; i++){
+            byte cell = get(i);
+            if((cell & flag) != 0){
+                put(i, (byte) (cell & ~flag));
+                changed(i);
+            }
+        }
+    }
+
+    /**
+     * Starts remembering which cells change, so a renderer can redraw only those. Off by default, so headless
+     * mazes pay nothing for it
+     */
+    public void trackChanges(){
+        if(changed == null){
+            changed = new BitSet(size);
+            changes = new int[64];
+            changeCount = 0;
+        }
+    }
+
+    /**
+     * Getter for the changeCount variable
+     * @return How many cells have changed since the changes were last drained
+     */
+    public int getChangeCount(){
+        return changeCount;
+    }
+
+    /**
+     * Hands every cell that changed since the last call to a consumer, once each, then forgets them. If too many
+     * cells changed to list them cheaply, nothing is handed over and the caller should treat every cell as changed
+     * @param consumer Receives the index of every changed cell
+     * @return false if the changes overflowed and every cell should be treated as changed, true otherwise
+     */
+    public boolean drainChanges(IntConsumer consumer){
+        boolean listed = !overflowed;
+        if(listed){
+            for (int i = 0; i < changeCount; i++){
+                changed.clear(changes[i]);
+                consumer.accept(changes[i]);
+            }
+        }else{
+            changed.clear();
+        }
+        changeCount = 0;
+        overflowed = false;
+        return listed;
+    }
+
+    /**
+     * Remembers that a cell changed, if changes are being tracked
+     * @param index The index of the cell
+     */
+    private void changed(int index){
+        if(changed == null || overflowed || changed.get(index)){
+            return;
+        }
+        changed.set(index);
+        if(changeCount == changes.length){
+            //Past an eighth of the grid it is cheaper to redraw everything than to keep listing cells
+            if(changeCount >= size / 8){
+                overflowed = true;
+                return;
+            }
+            changes = Arrays.copyOf(changes, changeCount * 2);
+        }
+        changes[changeCount++] = index;
+    }
+
+    /**
+     * Getter for the bytes of a run of cells, without their flags
+     * @param index The index of the first cell
+     * @param out Receives one byte per cell holding only its wall bits, from its position up to its limit
+     */
+    public void getWalls(int index, ByteBuffer out){
+        while(out.hasRemaining()){
+            out.put((byte) (get(index++) & WALLS));
+        }
+    }
+
+    /**
+     * Getter for the rows variable
+     * @return rows
+     */
+    public int getRows(){
+        return rows;
+    }
+
+    /**
+     * Getter for the columns variable
+     * @return columns
+     */
+    public int getColumns(){
+        return columns;
+    }
+
+    /**
+     * Getter for the number of cells in the grid
+     * @return rows * columns
+     */
+    public int size(){
+        return size;
+    }
+
+    private byte get(int index){
+        return cells != null ? cells[index] : buffer.get(index);
+    }
+
+    private void put(int index, byte cell){
+        if(cells != null){
+            cells[index] = cell;
+        }else{
+            buffer.put(index, cell);
+        }
+    }
+
+    /**
+     * Finds the bit used to store the wall on a side of a cell
+     * @param side The side of the cell
+     * @return The wall bit
+     */
+    private static int wallBit(Cell.Side side){
+        return 1 << side.ordinal();
+    }
+}
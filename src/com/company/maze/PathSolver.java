@@ -0,0 +1,68 @@
+package com.company.maze;
+
+/**
+ * Strategy for finding the shortest route between two cells of a PackedGrid. Searches are stepped until they report
+ * they are done, so Maze can run them either one step per frame or all at once, and a solver can be reused for any
+ * number of searches on the grid it was made for.
+ */
+public interface PathSolver {
+
+    /**
+     * Sets the heuristic used to estimate the distance to the goal. Takes effect from the next search started
+     * @param heuristic The Heuristic to use
+     */
+    void setHeuristic(Heuristic heuristic);
+
+    /**
+     * Starts a new search, forgetting the last one
+     * @param from The index of the cell to search from
+     * @param goal The index of the cell to search for
+     */
+    void start(int from, int goal);
+
+    /**
+     * Runs one step of the current search. Needs to be run in a loop
+     * @return Returns whether the search has finished. true if it has, false otherwise
+     */
+    boolean step();
+
+    /**
+     * Marks the path found by the last search with the SOLUTION flag, except for the cell it started from
+     * @return How many cells were marked, or -1 if no path was found
+     */
+    int markPath();
+
+    /**
+     * Getter for the length of the path found by the last search
+     * @return How many moves the path takes, or -1 if the search has not found one
+     */
+    int getPathLength();
+
+    /**
+     * Getter for how much work the last search did
+     * @return How many nodes the last search has taken off its open set
+     */
+    int getNodesExpanded();
+
+    /**
+     * Getter for how much memory the last search needed
+     * @return The most nodes the last search's open set has held at once, or -1 if the solver does not track it
+     */
+    default int getOpenSetPeak(){
+        return -1;
+    }
+
+    /**
+     * Runs a whole search
+     * @param from The index of the cell to search from
+     * @param goal The index of the cell to search for
+     * @return How many moves the path found takes, or -1 if the goal cannot be reached
+     */
+    default int solve(int from, int goal){
+        start(from, goal);
+        while(!step()){
+            //Keep searching
+        }
+        return getPathLength();
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.maze;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Randomized Prim's algorithm. Grows the maze outward from the start by attaching a random frontier cell to the
+ * maze each step, which makes lots of short dead ends radiating from the start.
+ */
+public class PrimGenerator extends CarvingGenerator {
+    private int[] frontier;
+    private int frontierSize;
+    private BitSet inFrontier;
+    private final Cell.Side[] candidates = new Cell.Side[4];
+
+    @Override
+    protected void begin(int startIndex){
+        frontier = new int[Math.min(grid.size(), 1024)];
+        frontierSize = 0;
+        inFrontier = new BitSet(grid.size());
+        addFrontier(startIndex);
+    }
+
+    @Override
+    public boolean step(){
+        if(frontierSize == 0){
+            return true;
+        }
+        int pick = nextInt(frontierSize);
+        int cell = frontier[pick];
+        frontier[pick] = frontier[--frontierSize];
+
+        int count = 0;
+        for (Cell.Side side : SIDES){
+            int neighbor = grid.neighbor(cell, side);
+            if(neighbor != -1 && grid.isSet(neighbor, PackedGrid.VISITED)){
+                candidates[count++] = side;
+            }
+        }
+        carve(cell, candidates[nextInt(count)]);
+        addFrontier(cell);
+        return frontierSize == 0;
+    }
+
+    /**
+     * Adds the unvisited neighbors of a cell that has just joined the maze to the frontier
+     * @param index The index of the cell
+     */
+    private void addFrontier(int index){
+        for (Cell.Side side : SIDES){
+            int neighbor = grid.neighbor(index, side);
+            if(neighbor != -1 && !grid.isSet(neighbor, PackedGrid.VISITED) && !inFrontier.get(neighbor)){
+                inFrontier.set(neighbor);
+                if(frontierSize == frontier.length){
+                    frontier = Arrays.copyOf(frontier, Math.min(grid.size(), frontier.length * 2));
+                }
+                frontier[frontierSize++] = neighbor;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first search that carves into a random unvisited neighbor and backtracks along its path when it gets
+ * stuck. Makes long winding corridors. Each step either carves one passage or backtracks one cell.
+ */
+public class RecursiveBacktracker extends CarvingGenerator {
+    private int[] path;
+    private int pathSize;
+    private int current;
+    private int unvisited;
+    private final Cell.Side[] candidates = new Cell.Side[4];
+
+    @Override
+    protected void begin(int startIndex){
+        path = new int[Math.min(grid.size(), 1024)];
+        pathSize = 0;
+        current = startIndex;
+        unvisited = grid.size() - 1;
+    }
+
+    @Override
+    public boolean step(){
+        if(unvisited == 0){
+            return true;
+        }
+        Cell.Side side = randomUnvisitedSide(current);
+        if(side != null){
+            push(current);
+            current = carve(current, side);
+            unvisited--;
+        }else if(pathSize > 0){
+            current = path[--pathSize];
+        }
+        return false;
+    }
+
+    /**
+     * Pushes a cell onto the backtracking path, growing the path if it is full
+     * @param index The index of the cell
+     */
+    private void push(int index){
+        if(pathSize == path.length){
+            path = Arrays.copyOf(path, Math.min(grid.size(), path.length * 2));
+        }
+        path[pathSize++] = index;
+    }
+
+    /**
+     * Picks a random side of a cell that leads to an unvisited neighbor
+     * @param index The index of the cell
+     * @return The side, or null if every neighbor has been visited
+     */
+    private Cell.Side randomUnvisitedSide(int index){
+        int count = 0;
+        for (Cell.Side side : SIDES){
+            int neighbor = grid.neighbor(index, side);
+            if(neighbor != -1 && !grid.isSet(neighbor, PackedGrid.VISITED)){
+                candidates[count++] = side;
+            }
+        }
+        if(count == 0){
+            return null;
+        }
+        return candidates[nextInt(count)];
+    }
+}
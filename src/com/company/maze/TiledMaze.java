@@ -0,0 +1,567 @@
+package com.company.maze;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A maze too big for the heap, kept in a file on disk and mapped into memory one square tile at a time. Each tile
+ * is carved on its own as a perfect maze, and the tiles are joined by a perfect maze of tiles: neighboring tiles
+ * share a single door exactly when the tile maze has no wall between them, so the whole maze is perfect too.
+ *
+ * Every tile is a contiguous block of the file, laid out like a PackedGrid, so generation writes the file front to
+ * back one tile at a time, and solving finds the route through the tile maze first and then solves only the tiles
+ * on it, each from the door it is entered by to the door it is left by. Both only ever touch one tile at a time, so
+ * pages are faulted in sequentially and the operating system can write finished tiles back and drop them. The heap
+ * holds the door table, a few tile mappings and one tile's worth of solver arrays, however big the maze is.
+ *
+ * File, big-endian: a 64 byte header of the magic number "MZTL", the format version, rows, columns, the tile size,
+ * the seed, the start row and column, whether generation finished and whether a solution is marked, then two doors
+ * per tile, then the tiles, each starting on a 4096 byte page.
+ */
+public class TiledMaze implements Closeable {
+    public static final int VERSION = 2;
+    //Small enough that one tile's solver arrays take about 20MB, big enough that the tile maze stays tiny
+    public static final int DEFAULT_TILE_SIZE = 1024;
+    private static final int MAGIC = 0x4D5A544C;
+    private static final int HEADER_SIZE = 64;
+    //Every tile starts on a page boundary and is padded to a whole number of pages, so no page is shared between
+    //two tiles
+    private static final int PAGE = 4096;
+    //How many tiles stay mapped at once. Dropped mappings are unmapped once they are garbage collected
+    private static final int MAPPED_TILES = 64;
+    //Mixes the tile number into the seed so every tile is carved from different random numbers
+    private static final long TILE_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int columns;
+    private final int tileSize;
+    private final int tileRows;
+    private final int tileColumns;
+    private final long seed;
+    private int startRow;
+    private int startColumn;
+    private final long dataStart;
+    private final long tileStride;
+    //doors[t * 2] is the column of the door from tile t into the next tile row, doors[t * 2 + 1] the row of the
+    //door into the next tile column, or -1 if there is no door
+    private final int[] doors;
+    private final PackedGrid tileGrid;
+    private final byte[] walls;
+    private final Map<Integer, PackedGrid> tiles = new LinkedHashMap<Integer, PackedGrid>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PackedGrid> eldest){
+            return size() > MAPPED_TILES;
+        }
+    };
+    private MazeGenerator.Algorithm algorithm = MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER;
+    private boolean generated;
+    //Whether the tiles hold a solution's marks, which the next solve has to clear
+    private boolean solved;
+    private int tilesGenerated;
+    private AStarSolver solver;
+
+    /**
+     * Constructor for TiledMaze objects.
+     * @param channel The open maze file
+     * @param rows The number of rows in the maze
+     * @param columns The number of columns in the maze
+     * @param tileSize How many rows and columns each tile has, except the last tiles, which are cut short
+     * @param seed The seed the maze is generated from
+     * @param startRow The row of the start cell
+     * @param startColumn The column of the start cell
+     */
+    private TiledMaze(FileChannel channel, int rows, int columns, int tileSize, long seed, int startRow,
+                      int startColumn){
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        this.tileSize = tileSize;
+        this.seed = seed;
+        this.startRow = startRow;
+        this.startColumn = startColumn;
+        tileRows = (rows + tileSize - 1) / tileSize;
+        tileColumns = (columns + tileSize - 1) / tileSize;
+        tileGrid = new PackedGrid(tileRows, tileColumns);
+        doors = new int[tileRows * tileColumns * 2];
+        Arrays.fill(doors, -1);
+        long tableEnd = HEADER_SIZE + (long) doors.length * 4;
+        dataStart = (tableEnd + PAGE - 1) / PAGE * PAGE;
+        tileStride = ((long) tileSize * tileSize + PAGE - 1) / PAGE * PAGE;
+        walls = new byte[tileSize];
+        Arrays.fill(walls, (byte) PackedGrid.WALLS);
+    }
+
+    /**
+     * Creates a new maze file, replacing anything already there. The maze still needs to be generated
+     * @param path The file to create
+     * @param rows The number of rows in the maze
+     * @param columns The number of columns in the maze
+     * @param tileSize How many rows and columns each tile has. DEFAULT_TILE_SIZE suits most mazes
+     * @param seed The seed the maze is generated from. Mazes with the same size, tile size, seed and algorithm
+     * are identical
+     * @return The maze, starting at the top left cell and ending at the bottom right cell
+     * @throws IOException If the file cannot be created
+     */
+    public static TiledMaze create(Path path, int rows, int columns, int tileSize, long seed) throws IOException{
+        if(rows <= 0 || columns <= 0 || tileSize <= 0 || (long) tileSize * tileSize > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("Cannot tile a " + rows + " x " + columns + " maze with "
+                    + tileSize + " x " + tileSize + " tiles");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            TiledMaze maze = new TiledMaze(channel, rows, columns, tileSize, seed, 0, 0);
+            maze.writeHeader();
+            return maze;
+        }catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a maze file made by create. Only the header and door table are read
+     * @param path The file to open
+     * @return The maze. If it was never fully generated it has to be generated again
+     * @throws IOException If the file cannot be read or is not a tiled maze file this version understands
+     */
+    public static TiledMaze open(Path path) throws IOException{
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if(header.getInt() != MAGIC){
+                throw new IOException(path + " is not a tiled maze file");
+            }
+            int version = header.getInt();
+            if(version != VERSION){
+                throw new IOException(path + " is version " + version + ", only version " + VERSION + " can be read");
+            }
+            int rows = header.getInt();
+            int columns = header.getInt();
+            int tileSize = header.getInt();
+            long seed = header.getLong();
+            int startRow = header.getInt();
+            int startColumn = header.getInt();
+            boolean generated = header.get() != 0;
+            boolean solved = header.get() != 0;
+            if(rows <= 0 || columns <= 0 || tileSize <= 0 || startRow < 0 || startRow >= rows
+                    || startColumn < 0 || startColumn >= columns){
+                throw new IOException(path + " is damaged");
+            }
+
+            TiledMaze maze = new TiledMaze(channel, rows, columns, tileSize, seed, startRow, startColumn);
+            if(generated){
+                ByteBuffer table = ByteBuffer.allocate(maze.doors.length * 4);
+                readFully(channel, table, HEADER_SIZE);
+                table.asIntBuffer().get(maze.doors);
+                maze.openTileWalls();
+                maze.generated = true;
+                maze.solved = solved;
+                maze.tilesGenerated = maze.doors.length / 2;
+            }
+            return maze;
+        }catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets the algorithm that carves each tile and the maze of tiles. Must be called before generate
+     * @param algorithm The algorithm. RECURSIVE_BACKTRACKER by default
+     */
+    public void setAlgorithm(MazeGenerator.Algorithm algorithm){
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Sets the cell solve starts from. The end is always the bottom right cell
+     * @param row The row of the start cell
+     * @param column The column of the start cell
+     * @throws IOException If the header cannot be written
+     */
+    public void setStart(int row, int column) throws IOException{
+        checkCell(row, column);
+        startRow = row;
+        startColumn = column;
+        writeHeader();
+    }
+
+    /**
+     * Carves the whole maze, one tile after another in file order. Blocks until it is done
+     * @throws IOException If a tile cannot be mapped
+     */
+    public void generate() throws IOException{
+        generated = false;
+        solved = false;
+        tilesGenerated = 0;
+        //Forget tiles mapped before, so each is filled with walls again as it is reached
+        tiles.clear();
+        carveTileMaze();
+        ByteBuffer table = ByteBuffer.allocate(doors.length * 4);
+        table.asIntBuffer().put(doors);
+        writeFully(table, HEADER_SIZE);
+
+        for (int t = 0; t < tileRows * tileColumns; t++){
+            long begin = System.nanoTime();
+            PackedGrid tile = tile(t);
+            MazeGenerator generator = algorithm.create();
+            generator.start(tile, 0, new SplittableRandom(seed + (t + 1) * TILE_SEED_STEP));
+            while(!generator.step()){
+                //Keep carving until the tile is done
+            }
+            tile.clear(PackedGrid.VISITED);
+            openDoors(t, tile);
+            tilesGenerated++;
+            MazeMetrics.get().recordGeneration(generator.getClass().getSimpleName(), tile.size() - 1,
+                    System.nanoTime() - begin);
+        }
+        generated = true;
+        writeHeader();
+    }
+
+    /**
+     * Finds the path from the start to the bottom right cell and marks it with the SOLUTION flag, except for the
+     * start. The marks are saved in the file. Only the tiles the path passes through are touched, unless an earlier
+     * solve left its marks, in which case every tile is visited once first to clear them
+     * @return How many moves the path takes
+     * @throws IOException If a tile cannot be mapped
+     */
+    public long solve() throws IOException{
+        if(!generated){
+            throw new IllegalStateException("The maze has not been generated");
+        }
+        long begin = System.nanoTime();
+        if(solved){
+            for (int t = 0; t < tileGrid.size(); t++){
+                tile(t).clear(PackedGrid.SOLUTION);
+            }
+        }
+        //Noted before marking, so a solve that fails part way is still cleared by the next
+        solved = true;
+        writeHeader();
+        int nodesExpanded = 0;
+        int openSetPeak = 0;
+        if(solver == null){
+            //The first tile is never cut short, so it is the biggest
+            solver = new AStarSolver(tile(0));
+        }
+        int endTile = tileGrid.size() - 1;
+        DistanceField route = new DistanceField(tileGrid, endTile);
+
+        int t = tileGrid.index(startRow / tileSize, startColumn / tileSize);
+        PackedGrid tile = tile(t);
+        int entry = tile.index(startRow % tileSize, startColumn % tileSize);
+        long length = 0;
+        while(true){
+            int next = t == endTile ? -1 : route.next(t);
+            int exit;
+            int nextEntry = -1;
+            if(next == -1){
+                exit = tile.size() - 1;
+            }else if(next == t + tileColumns){
+                //The door into the next tile row, along the bottom edge of this tile
+                exit = tile.index(tile.getRows() - 1, doors[t * 2]);
+                nextEntry = doors[t * 2];
+            }else if(next == t + 1){
+                exit = tile.index(doors[t * 2 + 1], tile.getColumns() - 1);
+                nextEntry = doors[t * 2 + 1] * tileColumns(next);
+            }else if(next == t - tileColumns){
+                exit = doors[next * 2];
+                nextEntry = (tileRows(next) - 1) * tileColumns(next) + doors[next * 2];
+            }else{
+                exit = tile.index(doors[next * 2 + 1], 0);
+                nextEntry = doors[next * 2 + 1] * tileColumns(next) + tileColumns(next) - 1;
+            }
+
+            solver.setGrid(tile);
+            solver.solve(entry, exit);
+            length += solver.markPath();
+            nodesExpanded += solver.getNodesExpanded();
+            openSetPeak = Math.max(openSetPeak, solver.getOpenSetPeak());
+            if(next == -1){
+                MazeMetrics.get().recordSolve(getClass().getSimpleName(), nodesExpanded, openSetPeak,
+                        (int) Math.min(Integer.MAX_VALUE, length), System.nanoTime() - begin);
+                return length;
+            }
+            t = next;
+            tile = tile(t);
+            entry = nextEntry;
+            //Stepping through the door is a move too
+            tile.set(entry, PackedGrid.SOLUTION, true);
+            length++;
+        }
+    }
+
+    /**
+     * Determines if there is a wall on a side of a cell
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param side The side to check
+     * @return true if the side has a wall, false otherwise
+     * @throws IOException If the cell's tile cannot be mapped
+     */
+    public boolean hasWall(int row, int column, Cell.Side side) throws IOException{
+        checkCell(row, column);
+        PackedGrid tile = tile(tileGrid.index(row / tileSize, column / tileSize));
+        return tile.hasWall(tile.index(row % tileSize, column % tileSize), side);
+    }
+
+    /**
+     * Determines if a flag is set on a cell
+     * @param row The row of the cell
+     * @param column The column of the cell
+     * @param flag One of PackedGrid's flags
+     * @return true if the flag is set, false otherwise
+     * @throws IOException If the cell's tile cannot be mapped
+     */
+    public boolean isSet(int row, int column, int flag) throws IOException{
+        checkCell(row, column);
+        PackedGrid tile = tile(tileGrid.index(row / tileSize, column / tileSize));
+        return tile.isSet(tile.index(row % tileSize, column % tileSize), flag);
+    }
+
+    /**
+     * Getter for the rows variable
+     * @return rows
+     */
+    public int getRows(){
+        return rows;
+    }
+
+    /**
+     * Getter for the columns variable
+     * @return columns
+     */
+    public int getColumns(){
+        return columns;
+    }
+
+    /**
+     * Getter for the tileSize variable
+     * @return How many rows and columns a whole tile has
+     */
+    public int getTileSize(){
+        return tileSize;
+    }
+
+    /**
+     * Getter for the seed variable
+     * @return The seed the maze is generated from
+     */
+    public long getSeed(){
+        return seed;
+    }
+
+    /**
+     * Getter for the generated variable
+     * @return true once every tile has been carved, false otherwise
+     */
+    public boolean isGenerated(){
+        return generated;
+    }
+
+    /**
+     * Estimates how far generation has got. Only meant for progress displays
+     * @return The share of tiles carved so far, from 0 to 1
+     */
+    public double getGenerationProgress(){
+        return (double) tilesGenerated / (tileRows * tileColumns);
+    }
+
+    /**
+     * Closes the file. Changes already made reach the file even if they have not been written back yet
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException{
+        tiles.clear();
+        channel.close();
+    }
+
+    /**
+     * Generates and solves a tiled maze, reporting how long each took.
+     * Usage: TiledMaze file size [tileSize] [seed]
+     * @param args The file to write, the number of rows and columns, and optionally the tile size and seed
+     * @throws IOException If the file cannot be written
+     */
+    public static void main(String[] args) throws IOException{
+        if(args.length < 2){
+            System.err.println("Usage: TiledMaze file size [tileSize] [seed]");
+            System.exit(1);
+        }
+        int size = Integer.parseInt(args[1]);
+        int tileSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TILE_SIZE;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        try (TiledMaze maze = create(Paths.get(args[0]), size, size, tileSize, seed)){
+            long start = System.nanoTime();
+            maze.generate();
+            long generated = System.nanoTime();
+            long length = maze.solve();
+            long solved = System.nanoTime();
+            System.out.println("size : " + size + " tile : " + tileSize + " seed : " + seed + " generate : "
+                    + (generated - start) / 1000000 + "ms solve : " + (solved - generated) / 1000000
+                    + "ms length : " + length);
+        }
+    }
+
+    /**
+     * Carves the maze of tiles, then picks a random door along every edge it opens
+     */
+    private void carveTileMaze(){
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int t = 0; t < tileGrid.size(); t++){
+            tileGrid.set(t, PackedGrid.WALLS, true);
+            tileGrid.set(t, PackedGrid.VISITED, false);
+        }
+        if(tileGrid.size() > 1){
+            MazeGenerator generator = algorithm.create();
+            generator.start(tileGrid, 0, random);
+            while(!generator.step()){
+                //Keep carving until every tile is reachable
+            }
+        }
+        Arrays.fill(doors, -1);
+        for (int t = 0; t < tileGrid.size(); t++){
+            if(tileGrid.neighbor(t, Cell.Side.LEFT) != -1 && !tileGrid.hasWall(t, Cell.Side.LEFT)){
+                doors[t * 2] = random.nextInt(tileColumns(t));
+            }
+            if(tileGrid.neighbor(t, Cell.Side.BOTTOM) != -1 && !tileGrid.hasWall(t, Cell.Side.BOTTOM)){
+                doors[t * 2 + 1] = random.nextInt(tileRows(t));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the maze of tiles from the door table
+     */
+    private void openTileWalls(){
+        for (int t = 0; t < tileGrid.size(); t++){
+            if(doors[t * 2] != -1){
+                tileGrid.removeWall(t, Cell.Side.LEFT);
+                tileGrid.removeWall(t + tileColumns, Cell.Side.RIGHT);
+            }
+            if(doors[t * 2 + 1] != -1){
+                tileGrid.removeWall(t, Cell.Side.BOTTOM);
+                tileGrid.removeWall(t + 1, Cell.Side.TOP);
+            }
+        }
+    }
+
+    /**
+     * Knocks down the tile's half of every door on its edges. Only the tile's own cells are changed, so tiles can be
+     * finished one at a time
+     * @param t The number of the tile
+     * @param tile The tile's grid
+     */
+    private void openDoors(int t, PackedGrid tile){
+        if(doors[t * 2] != -1){
+            tile.removeWall(tile.index(tile.getRows() - 1, doors[t * 2]), Cell.Side.LEFT);
+        }
+        if(doors[t * 2 + 1] != -1){
+            tile.removeWall(tile.index(doors[t * 2 + 1], tile.getColumns() - 1), Cell.Side.BOTTOM);
+        }
+        if(t >= tileColumns && doors[(t - tileColumns) * 2] != -1){
+            tile.removeWall(tile.index(0, doors[(t - tileColumns) * 2]), Cell.Side.RIGHT);
+        }
+        if(t % tileColumns > 0 && doors[(t - 1) * 2 + 1] != -1){
+            tile.removeWall(tile.index(doors[(t - 1) * 2 + 1], 0), Cell.Side.TOP);
+        }
+    }
+
+    /**
+     * Finds the grid of a tile, mapping it if it is not mapped already. A tile that has not been generated yet has
+     * all its walls
+     * @param t The number of the tile
+     * @return The tile's grid, backed by the file
+     * @throws IOException If the tile cannot be mapped
+     */
+    private PackedGrid tile(int t) throws IOException{
+        PackedGrid tile = tiles.get(t);
+        if(tile == null){
+            long offset = dataStart + t * tileStride;
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) tileSize * tileSize);
+            if(t >= tilesGenerated){
+                while(bytes.hasRemaining()){
+                    bytes.put(walls, 0, Math.min(walls.length, bytes.remaining()));
+                }
+                bytes.clear();
+            }
+            tile = new PackedGrid(tileRows(t), tileColumns(t), bytes);
+            tiles.put(t, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Finds how many rows a tile has
+     * @param t The number of the tile
+     * @return tileSize, or fewer for the last row of tiles
+     */
+    private int tileRows(int t){
+        return Math.min(tileSize, rows - t / tileColumns * tileSize);
+    }
+
+    /**
+     * Finds how many columns a tile has
+     * @param t The number of the tile
+     * @return tileSize, or fewer for the last column of tiles
+     */
+    private int tileColumns(int t){
+        return Math.min(tileSize, columns - t % tileColumns * tileSize);
+    }
+
+    private void checkCell(int row, int column){
+        if(row < 0 || row >= rows || column < 0 || column >= columns){
+            throw new IndexOutOfBoundsException("row : " + row + " column : " + column);
+        }
+    }
+
+    /**
+     * Writes the header to the start of the file
+     * @throws IOException If the header cannot be written
+     */
+    private void writeHeader() throws IOException{
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(rows);
+        header.putInt(columns);
+        header.putInt(tileSize);
+        header.putLong(seed);
+        header.putInt(startRow);
+        header.putInt(startColumn);
+        header.put((byte) (generated ? 1 : 0));
+        header.put((byte) (solved ? 1 : 0));
+        header.position(HEADER_SIZE);
+        header.flip();
+        writeFully(header, 0);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException{
+        while(buffer.hasRemaining()){
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException{
+        while(buffer.hasRemaining()){
+            int read = channel.read(buffer, position + buffer.position());
+            if(read == -1){
+                throw new IOException("The file ends too soon");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.maze;
+
+import java.util.Arrays;
+
+/**
+ * Answers route questions between any two cells of a perfect maze without searching. A perfect maze is a tree,
+ * so the route between two cells climbs from each of them to their lowest common ancestor. The tree is the one
+ * in a DistanceField, rooted at its target, and every cell gets one extra jump pointer to an ancestor further up.
+ * The jumps are laid out so that any climb takes O(log n) steps, while costing only one int per cell instead of
+ * the log n per cell of a full binary lifting table.
+ */
+public class TreeIndex {
+    private final DistanceField field;
+    private final int[] jumps;
+
+    /**
+     * Constructor for TreeIndex objects. Works out every jump pointer once, in O(n)
+     * @param field The distance field of a generated perfect maze
+     */
+    public TreeIndex(DistanceField field){
+        this.field = field;
+        int size = field.size();
+        jumps = new int[size];
+        Arrays.fill(jumps, -1);
+        jumps[field.getTarget()] = field.getTarget();
+
+        //A cell's jump depends on its parent's, so climb to the first cell that has one and fill in on the way down
+        int[] stack = new int[64];
+        for (int i = 0; i < size; i++){
+            if(jumps[i] != -1 || field.distance(i) == -1){
+                continue;
+            }
+            int count = 0;
+            for (int index = i; jumps[index] == -1; index = field.next(index)){
+                if(count == stack.length){
+                    stack = Arrays.copyOf(stack, count * 2);
+                }
+                stack[count++] = index;
+            }
+            while(count > 0){
+                int index = stack[--count];
+                int parent = field.next(index);
+                int jump = jumps[parent];
+                //Jump twice as far when the parent's jump and the jump after it cover the same distance
+                if(field.distance(parent) - field.distance(jump) == field.distance(jump) - field.distance(jumps[jump])){
+                    jumps[index] = jumps[jump];
+                }else{
+                    jumps[index] = parent;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the number of moves between two cells
+     * @param a The index of the first cell
+     * @param b The index of the second cell
+     * @return The number of moves, or -1 if the cells are not connected
+     */
+    public int distance(int a, int b){
+        int common = lowestCommonAncestor(a, b);
+        if(common == -1){
+            return -1;
+        }
+        return field.distance(a) + field.distance(b) - 2 * field.distance(common);
+    }
+
+    /**
+     * Finds the first step on the route from one cell to another
+     * @param from The index of the cell to step from
+     * @param to The index of the cell to head towards
+     * @return The index of the next cell on the route, or -1 if the cells are the same or not connected
+     */
+    public int nextHop(int from, int to){
+        int common = lowestCommonAncestor(from, to);
+        if(common == -1 || from == to){
+            return -1;
+        }
+        if(common != from){
+            //The route starts by climbing towards the root
+            return field.next(from);
+        }
+        //from is above to, so step down into the branch holding to
+        return ancestor(to, field.distance(from) + 1);
+    }
+
+    /**
+     * Finds the cell where the routes from two cells to the root meet
+     * @param a The index of the first cell
+     * @param b The index of the second cell
+     * @return The index of the lowest common ancestor, or -1 if the cells are not connected
+     */
+    public int lowestCommonAncestor(int a, int b){
+        if(field.distance(a) == -1 || field.distance(b) == -1){
+            return -1;
+        }
+        if(field.distance(a) > field.distance(b)){
+            a = ancestor(a, field.distance(b));
+        }else{
+            b = ancestor(b, field.distance(a));
+        }
+        //Cells at the same depth have jumps to the same depth, so both can jump together
+        while(a != b){
+            if(jumps[a] != jumps[b]){
+                a = jumps[a];
+                b = jumps[b];
+            }else{
+                a = field.next(a);
+                b = field.next(b);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Finds the ancestor of a cell at a given depth, where the root is at depth 0
+     * @param index The index of the cell
+     * @param depth The depth of the ancestor. Must be between 0 and the depth of the cell
+     * @return The index of the ancestor
+     */
+    public int ancestor(int index, int depth){
+        while(field.distance(index) > depth){
+            if(field.distance(jumps[index]) >= depth){
+                index = jumps[index];
+            }else{
+                index = field.next(index);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.maze;
+
+/**
+ * Wilson's algorithm. Walks randomly from an unvisited cell until it hits the maze, then carves the walk with its
+ * loops erased. Picks uniformly among all possible mazes, so there is no texture bias, but the first walks can be
+ * long. Each step adds one loop-erased walk to the maze.
+ */
+public class WilsonGenerator extends CarvingGenerator {
+    private byte[] walk;
+    private int cursor;
+    private int remaining;
+
+    @Override
+    protected void begin(int startIndex){
+        //The last side taken out of every cell on the current walk. Overwriting it when the walk loops back
+        //erases the loop
+        walk = new byte[grid.size()];
+        cursor = 0;
+        remaining = grid.size() - 1;
+    }
+
+    @Override
+    public boolean step(){
+        if(remaining == 0){
+            return true;
+        }
+        while(grid.isSet(cursor, PackedGrid.VISITED)){
+            cursor++;
+        }
+
+        int cell = cursor;
+        while(!grid.isSet(cell, PackedGrid.VISITED)){
+            Cell.Side side = SIDES[nextInt(SIDES.length)];
+            int neighbor = grid.neighbor(cell, side);
+            if(neighbor != -1){
+                walk[cell] = (byte) side.ordinal();
+                cell = neighbor;
+            }
+        }
+
+        cell = cursor;
+        while(true){
+            Cell.Side side = SIDES[walk[cell]];
+            int next = grid.neighbor(cell, side);
+            boolean reached = grid.isSet(next, PackedGrid.VISITED);
+            carve(cell, side);
+            remaining--;
+            if(reached){
+                break;
+            }
+            cell = next;
+        }
+        return remaining == 0;
+    }
+}
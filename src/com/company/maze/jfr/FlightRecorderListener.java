@@ -0,0 +1,55 @@
+package com.company.maze.jfr;
+
+import com.company.maze.MetricsListener;
+
+/**
+ * Turns every measurement MazeMetrics records into a custom Flight Recorder event, found under Maze in JDK Mission
+ * Control. Events are only built while a recording has them enabled, so outside of one this costs a check per
+ * measurement. Built for Java 11, as Flight Recorder's API is not part of Java 8; MazeMetrics.enableFlightRecorder
+ * only loads it when the API is there.
+ */
+public class FlightRecorderListener implements MetricsListener {
+
+    @Override
+    public void generated(String algorithm, long cellsCarved, long nanos){
+        GenerationEvent event = new GenerationEvent();
+        if(event.isEnabled()){
+            event.algorithm = algorithm;
+            event.cellsCarved = cellsCarved;
+            event.generationTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void solved(String solver, int nodesExpanded, int openSetPeak, int pathLength, long nanos){
+        SolveEvent event = new SolveEvent();
+        if(event.isEnabled()){
+            event.solver = solver;
+            event.nodesExpanded = nodesExpanded;
+            event.openSetPeak = openSetPeak;
+            event.pathLength = pathLength;
+            event.solveTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void frame(String state, long nanos){
+        FrameEvent event = new FrameEvent();
+        if(event.isEnabled()){
+            event.state = state;
+            event.frameTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void input(long latencyNanos){
+        InputEvent event = new InputEvent();
+        if(event.isEnabled()){
+            event.latency = latencyNanos;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.maze.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a frame that was drawn
+ */
+@Name("com.company.maze.Frame")
+@Label("Frame")
+@Category("Maze")
+@Description("A frame was drawn")
+@StackTrace(false)
+class FrameEvent extends jdk.jfr.Event {
+    @Label("State")
+    String state;
+
+    @Label("Frame Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long frameTime;
+}
@@ -0,0 +1,28 @@
+package com.company.maze.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a maze, chunk or tile that finished generating
+ */
+@Name("com.company.maze.Generation")
+@Label("Maze Generation")
+@Category("Maze")
+@Description("A maze, chunk or tile finished generating")
+@StackTrace(false)
+class GenerationEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Cells Carved")
+    long cellsCarved;
+
+    @Label("Generation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long generationTime;
+}
@@ -0,0 +1,22 @@
+package com.company.maze.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for input that has shown up on screen
+ */
+@Name("com.company.maze.Input")
+@Label("Input Latency")
+@Category("Maze")
+@Description("The first frame after some input was drawn")
+@StackTrace(false)
+class InputEvent extends jdk.jfr.Event {
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+}
@@ -0,0 +1,35 @@
+package com.company.maze.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a solve that finished
+ */
+@Name("com.company.maze.Solve")
+@Label("Maze Solve")
+@Category("Maze")
+@Description("A path search finished")
+@StackTrace(false)
+class SolveEvent extends jdk.jfr.Event {
+    @Label("Solver")
+    String solver;
+
+    @Label("Nodes Expanded")
+    int nodesExpanded;
+
+    @Label("Open Set Peak")
+    @Description("The most nodes the open set held at once, or -1 if the solver does not track it")
+    int openSetPeak;
+
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Solve Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long solveTime;
+}